@@ -3,6 +3,7 @@ import java.util.Date
 
 plugins {
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2" apply false
     id("java")
 }
 
@@ -52,6 +53,14 @@ project(":skinmotion-core") {
         implementation("org.yaml:snakeyaml:2.2")
         implementation("org.java-websocket:Java-WebSocket:1.5.6")
         compileOnly("org.jetbrains:annotations:24.0.1")
+
+        testImplementation(platform("org.junit:junit-bom:5.10.2"))
+        testImplementation("org.junit.jupiter:junit-jupiter")
+        testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    }
+
+    tasks.named<Test>("test") {
+        useJUnitPlatform()
     }
 }
 
@@ -67,6 +76,15 @@ project(":skinmotion-bukkit") {
         implementation("org.bstats:bstats-bukkit:3.0.2")
         implementation("org.java-websocket:Java-WebSocket:1.5.6")
         implementation("org.yaml:snakeyaml:2.2")
+
+        testImplementation("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
+        testImplementation(platform("org.junit:junit-bom:5.10.2"))
+        testImplementation("org.junit.jupiter:junit-jupiter")
+        testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    }
+
+    tasks.named<Test>("test") {
+        useJUnitPlatform()
     }
     
     tasks.named<com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar>("shadowJar") {
@@ -118,6 +136,27 @@ project(":skinmotion-velocity") {
     }
 }
 
+project(":skinmotion-benchmarks") {
+    apply(plugin = "me.champeau.jmh")
+
+    dependencies {
+        "jmh"(project(":skinmotion-core"))
+        "jmh"(project(":skinmotion-bukkit"))
+        "jmh"("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
+        "jmh"("com.google.code.gson:gson:2.10.1")
+        "jmh"("org.xerial:sqlite-jdbc:3.45.1.0")
+    }
+
+    // Run with: ./gradlew :skinmotion-benchmarks:jmh
+    extensions.configure<me.champeau.jmh.JmhParameters>("jmh") {
+        jmhVersion.set("1.37")
+        warmupIterations.set(3)
+        iterations.set(5)
+        fork.set(1)
+        resultFormat.set("JSON")
+    }
+}
+
 // Root project: copy the bukkit jar to build/libs as the main artifact
 tasks.register<Copy>("copyBukkitJar") {
     dependsOn(":skinmotion-bukkit:shadowJar", ":skinmotion-bukkit:jar")
@@ -4,3 +4,4 @@ include("skinmotion-core")
 include("skinmotion-bukkit")
 include("skinmotion-bungee")
 include("skinmotion-velocity")
+include("skinmotion-benchmarks")
@@ -0,0 +1 @@
+// Benchmarks module - JMH microbenchmarks for the animation, packet and storage hot paths
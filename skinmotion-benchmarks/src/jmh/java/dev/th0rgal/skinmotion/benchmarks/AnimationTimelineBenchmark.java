@@ -0,0 +1,64 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import dev.th0rgal.skinmotion.bukkit.animation.AnimationStateTable;
+import dev.th0rgal.skinmotion.bukkit.animation.AnimationTimeline;
+import dev.th0rgal.skinmotion.bukkit.animation.PhasePlanner;
+import dev.th0rgal.skinmotion.core.animation.AnimationProgram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick frame advancement through {@link AnimationTimeline}, the step
+ * SkinAnimationTask runs for every animated player. Viewer lookup and packet
+ * sending need a running server and are not covered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnimationTimelineBenchmark {
+
+    private static final int PLAYERS = 300;
+
+    @Param({"2", "4", "16"})
+    public int frameCount;
+
+    private AnimationTimeline timeline;
+    private int[] slots;
+    private AnimationProgram[] programs;
+
+    @Setup
+    public void setup() {
+        AnimationStateTable states = new AnimationStateTable();
+        timeline = new AnimationTimeline(states, new PhasePlanner());
+        slots = new int[PLAYERS];
+        programs = new AnimationProgram[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            UUID playerId = UUID.randomUUID();
+            slots[i] = states.acquire(playerId, null, false);
+            programs[i] = AnimationProgram.compile(BenchmarkData.skinConfig(playerId, frameCount));
+        }
+    }
+
+    /**
+     * One server tick worth of frame advancement for every animated player.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS)
+    public void tickAllPlayers(Blackhole blackhole) {
+        timeline.advanceClock();
+        for (int i = 0; i < PLAYERS; i++) {
+            blackhole.consume(timeline.tick(slots[i], programs[i]));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import dev.th0rgal.skinmotion.core.model.SkinConfig;
+import dev.th0rgal.skinmotion.core.model.SkinFrame;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic, deterministic skin data shaped like real Mojang-signed textures.
+ */
+public final class BenchmarkData {
+
+    private static final int SIGNATURE_BYTES = 512;
+
+    private BenchmarkData() {
+        // Utility class
+    }
+
+    /**
+     * Build a Base64 texture value with a skin, a slim model and a cape.
+     */
+    @NotNull
+    public static String textureValue(@NotNull UUID profileId, int seed) {
+        Random random = new Random(seed);
+        String json = "{\"timestamp\":" + (1700000000000L + seed)
+                + ",\"profileId\":\"" + profileId.toString().replace("-", "") + "\""
+                + ",\"profileName\":\"Bench" + seed + "\""
+                + ",\"signatureRequired\":true"
+                + ",\"textures\":{"
+                + "\"SKIN\":{\"url\":\"http://textures.minecraft.net/texture/" + hex(random, 32) + "\","
+                + "\"metadata\":{\"model\":\"slim\"}},"
+                + "\"CAPE\":{\"url\":\"http://textures.minecraft.net/texture/" + hex(random, 32) + "\"}}}";
+        return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Build a random Base64 signature the size of a Mojang texture signature.
+     */
+    @NotNull
+    public static String signature(int seed) {
+        byte[] bytes = new byte[SIGNATURE_BYTES];
+        new Random(seed).nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    /**
+     * Build an animated skin config with the given number of frames.
+     */
+    @NotNull
+    public static SkinConfig skinConfig(@NotNull UUID playerId, int frameCount) {
+        List<SkinFrame> frames = new ArrayList<>(frameCount);
+        for (int i = 0; i < frameCount; i++) {
+            frames.add(new SkinFrame(i, textureValue(playerId, i), signature(i), null));
+        }
+        return new SkinConfig(playerId.toString(), "Bench", "vanilla", "loop", 2, true, frames);
+    }
+
+    private static String hex(Random random, int bytes) {
+        StringBuilder builder = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i++) {
+            builder.append(String.format("%02x", random.nextInt(256)));
+        }
+        return builder.toString();
+    }
+}
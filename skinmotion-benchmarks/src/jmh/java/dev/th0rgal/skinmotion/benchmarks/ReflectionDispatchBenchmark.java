@@ -0,0 +1,120 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflection styles used by FakePlayer's skin update path:
+ * per-call lookups, cached {@link Method}s and cached {@link MethodHandle}s.
+ * Runs against stand-in entity and packet classes so no server is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReflectionDispatchBenchmark {
+
+    private static final MethodHandle STATIC_GET_X;
+    private static final MethodHandle STATIC_NEW_PACKET;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            STATIC_GET_X = lookup.unreflect(Entity.class.getMethod("getX"))
+                    .asType(MethodType.methodType(double.class, Object.class));
+            STATIC_NEW_PACKET = lookup.unreflectConstructor(Packet.class.getConstructor(int.class, UUID.class, double.class))
+                    .asType(MethodType.methodType(Object.class, int.class, UUID.class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Object entity;
+    private Method getXMethod;
+    private Constructor<?> packetConstructor;
+    private MethodHandle getX;
+    private MethodHandle newPacket;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        entity = new Entity(7, UUID.randomUUID(), 12.5);
+        getXMethod = Entity.class.getMethod("getX");
+        packetConstructor = Packet.class.getConstructor(int.class, UUID.class, double.class);
+        getX = STATIC_GET_X;
+        newPacket = STATIC_NEW_PACKET;
+    }
+
+    @Benchmark
+    public Object lookupPerCall() throws ReflectiveOperationException {
+        Entity typed = (Entity) entity;
+        double x = (double) entity.getClass().getMethod("getX").invoke(entity);
+        return Packet.class.getConstructor(int.class, UUID.class, double.class).newInstance(typed.id, typed.uuid, x);
+    }
+
+    @Benchmark
+    public Object cachedReflection() throws ReflectiveOperationException {
+        Entity typed = (Entity) entity;
+        double x = (double) getXMethod.invoke(entity);
+        return packetConstructor.newInstance(typed.id, typed.uuid, x);
+    }
+
+    @Benchmark
+    public Object cachedMethodHandle() throws Throwable {
+        Entity typed = (Entity) entity;
+        double x = (double) getX.invokeExact(entity);
+        return (Object) newPacket.invokeExact(typed.id, typed.uuid, x);
+    }
+
+    @Benchmark
+    public Object staticFinalMethodHandle() throws Throwable {
+        Entity typed = (Entity) entity;
+        double x = (double) STATIC_GET_X.invokeExact(entity);
+        return (Object) STATIC_NEW_PACKET.invokeExact(typed.id, typed.uuid, x);
+    }
+
+    @Benchmark
+    public Object direct() {
+        Entity typed = (Entity) entity;
+        return new Packet(typed.id, typed.uuid, typed.getX());
+    }
+
+    public static final class Entity {
+        final int id;
+        final UUID uuid;
+        private final double x;
+
+        Entity(int id, UUID uuid, double x) {
+            this.id = id;
+            this.uuid = uuid;
+            this.x = x;
+        }
+
+        public double getX() {
+            return x;
+        }
+    }
+
+    public static final class Packet {
+        private final int id;
+        private final UUID uuid;
+        private final double x;
+
+        public Packet(int id, UUID uuid, double x) {
+            this.id = id;
+            this.uuid = uuid;
+            this.x = x;
+        }
+    }
+}
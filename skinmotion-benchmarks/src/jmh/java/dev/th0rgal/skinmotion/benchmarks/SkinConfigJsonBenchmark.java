@@ -0,0 +1,64 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import dev.th0rgal.skinmotion.core.model.SkinConfig;
+import dev.th0rgal.skinmotion.core.model.SkinConfigAdapter;
+import dev.th0rgal.skinmotion.core.model.SkinFrame;
+import dev.th0rgal.skinmotion.core.model.SkinFrameAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skin config response parsing: buffered reflective Gson against the streaming adapters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkinConfigJsonBenchmark {
+
+    private static final Gson REFLECTIVE = new GsonBuilder().create();
+    private static final Gson STREAMING = new GsonBuilder()
+            .registerTypeAdapter(SkinConfig.class, new SkinConfigAdapter())
+            .registerTypeAdapter(SkinFrame.class, new SkinFrameAdapter())
+            .create();
+
+    @Param({"1", "8", "16"})
+    public int frameCount;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        SkinConfig config = BenchmarkData.skinConfig(UUID.randomUUID(), frameCount);
+        body = STREAMING.toJson(config).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public SkinConfig bufferedReflective() {
+        String json = new String(body, StandardCharsets.UTF_8);
+        return REFLECTIVE.fromJson(json, SkinConfig.class);
+    }
+
+    @Benchmark
+    public SkinConfig streamingAdapter() throws IOException {
+        try (JsonReader reader = new JsonReader(
+                new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            return STREAMING.fromJson(reader, SkinConfig.class);
+        }
+    }
+}
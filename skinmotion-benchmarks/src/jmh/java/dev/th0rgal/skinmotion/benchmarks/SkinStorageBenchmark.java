@@ -0,0 +1,74 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import dev.th0rgal.skinmotion.bukkit.storage.SkinStorage;
+import dev.th0rgal.skinmotion.core.model.SkinConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Save and load round trips against a local SQLite file, including the
+ * hop to the storage thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkinStorageBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int frameCount;
+
+    private File dataFolder;
+    private SkinStorage storage;
+    private SkinConfig config;
+    private UUID playerId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        dataFolder = Files.createTempDirectory("skinmotion-bench").toFile();
+        Logger logger = Logger.getLogger("SkinStorageBenchmark");
+        logger.setUseParentHandlers(false);
+
+        storage = new SkinStorage(dataFolder, logger);
+        storage.initialize();
+
+        playerId = UUID.randomUUID();
+        config = BenchmarkData.skinConfig(playerId, frameCount);
+        storage.saveSkin(config).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+        try (var paths = Files.walk(dataFolder.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void saveSkin() {
+        storage.saveSkin(config).join();
+    }
+
+    @Benchmark
+    public SkinConfig loadSkin() {
+        return storage.loadSkin(playerId).join();
+    }
+}
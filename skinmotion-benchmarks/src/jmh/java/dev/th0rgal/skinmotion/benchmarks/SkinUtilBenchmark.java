@@ -0,0 +1,56 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import dev.th0rgal.skinmotion.core.model.SkinVariant;
+import dev.th0rgal.skinmotion.core.model.TextureInfo;
+import dev.th0rgal.skinmotion.core.util.SkinUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Texture decoding cost in {@link SkinUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SkinUtilBenchmark {
+
+    private String textureValue;
+
+    @Setup
+    public void setup() {
+        textureValue = BenchmarkData.textureValue(UUID.randomUUID(), 42);
+    }
+
+    @Benchmark
+    public TextureInfo decode() {
+        return SkinUtil.decode(textureValue);
+    }
+
+    @Benchmark
+    public String extractSkinUrl() {
+        return SkinUtil.extractSkinUrl(textureValue);
+    }
+
+    @Benchmark
+    public SkinVariant extractVariant() {
+        return SkinUtil.extractVariant(textureValue);
+    }
+
+    @Benchmark
+    public boolean hasCape() {
+        return SkinUtil.hasCape(textureValue);
+    }
+
+    @Benchmark
+    public String extractCapeUrl() {
+        return SkinUtil.extractCapeUrl(textureValue);
+    }
+}
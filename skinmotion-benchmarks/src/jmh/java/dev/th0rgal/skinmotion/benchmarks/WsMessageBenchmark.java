@@ -0,0 +1,36 @@
+package dev.th0rgal.skinmotion.benchmarks;
+
+import dev.th0rgal.skinmotion.core.websocket.WsMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost of incoming WebSocket messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WsMessageBenchmark {
+
+    private final String skinUpdated = "{\"type\":\"SkinUpdated\",\"data\":{"
+            + "\"minecraft_uuid\":\"069a79f4-44e9-4726-a5be-fca90e38aaf5\","
+            + "\"minecraft_username\":\"Notch\"}}";
+    private final String configChanged = "{\"type\":\"ConfigChanged\",\"data\":{"
+            + "\"minecraft_uuid\":\"069a79f4-44e9-4726-a5be-fca90e38aaf5\"}}";
+
+    @Benchmark
+    public WsMessage skinUpdated() {
+        return WsMessage.fromJson(skinUpdated);
+    }
+
+    @Benchmark
+    public WsMessage configChanged() {
+        return WsMessage.fromJson(configChanged);
+    }
+}
@@ -1,38 +1,156 @@
 package dev.th0rgal.skinmotion.bukkit;
 
+import dev.th0rgal.skinmotion.bukkit.animation.AnimationGovernor;
+import dev.th0rgal.skinmotion.bukkit.animation.AnimationStateTable;
+import dev.th0rgal.skinmotion.bukkit.animation.AnimationTimeline;
+import dev.th0rgal.skinmotion.bukkit.animation.PhasePlanner;
+import dev.th0rgal.skinmotion.bukkit.animation.RegionUpdateBudget;
+import dev.th0rgal.skinmotion.bukkit.animation.SkinUpdateDispatcher;
+import dev.th0rgal.skinmotion.bukkit.animation.TickWorkStats;
+import dev.th0rgal.skinmotion.bukkit.animation.TrackedViewers;
+import dev.th0rgal.skinmotion.bukkit.animation.UpdateQueueStats;
+import dev.th0rgal.skinmotion.bukkit.animation.ViewerGrid;
 import dev.th0rgal.skinmotion.bukkit.npc.FakePlayer;
-import dev.th0rgal.skinmotion.core.model.SkinConfig;
-import dev.th0rgal.skinmotion.core.model.SkinFrame;
+import dev.th0rgal.skinmotion.bukkit.paper.PaperTrackingListener;
+import dev.th0rgal.skinmotion.bukkit.scheduler.PlatformScheduler;
+import dev.th0rgal.skinmotion.bukkit.scheduler.PlatformTask;
+import dev.th0rgal.skinmotion.core.animation.AnimationProgram;
+import dev.th0rgal.skinmotion.core.config.Config;
+import dev.th0rgal.skinmotion.core.model.SkinProperty;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Task that broadcasts animated skin frames to viewers.
  * Each player with an animated skin gets their frames cycled for all viewers.
+ * <p>
+ * Frames follow one global tick clock, advanced by an
+ * {@link AnimationTimeline}. Each animation starts at a phase
+ * picked so that frame transitions of different players spread across ticks
+ * instead of bursting on the same one. Under server load an
+ * {@link AnimationGovernor} stretches frames, shrinks the broadcast radius
+ * and pauses low-priority animations. Updates are sent through a
+ * {@link SkinUpdateDispatcher} that caps the packets written per tick.
+ * <p>
+ * On Paper, viewers are the clients whose entity tracker has the player
+ * loaded, kept in {@link TrackedViewers}. Elsewhere they are found by
+ * distance and {@link Player#canSee(Player)} on every frame.
+ * <p>
+ * On Folia each player's animation runs on the thread of the region holding
+ * them, as a {@link RegionAnimation}, and is sent to the viewers in that
+ * region that track the player. Only the clock, the governor and the refill
+ * of the packet budgets run on the global region. The budgets are shared by
+ * all regions through a {@link RegionUpdateBudget}.
  */
 public class SkinAnimationTask implements Runnable {
 
+    private static final double DEFAULT_NEAR_DISTANCE = 24;
+    private static final double DEFAULT_MID_DISTANCE = 48;
+    private static final double DEFAULT_FAR_DISTANCE = 64;
+    private static final int DEFAULT_MID_FRAME_INTERVAL = 3;
+
+    /** Players with this permission keep animating when low-priority animations are paused */
+    public static final String PRIORITY_PERMISSION = "skinmotion.priority";
+
     private final SkinMotionPlugin plugin;
-    private BukkitTask task;
+    private PlatformScheduler scheduler;
+    private PlatformTask task;
+
+    // Player positions indexed by chunk, rebuilt at most once per tick
+    private final ViewerGrid viewerGrid = new ViewerGrid();
+    private final List<Player> nearbyViewers = new ArrayList<>();
+    private final List<Player> recipients = new ArrayList<>();
+    private final Location targetLocation = new Location(null, 0, 0, 0);
+    private final Location viewerLocation = new Location(null, 0, 0, 0);
+    private boolean viewerGridStale;
+
+    // Viewers from the entity tracker, or null where tracking events don't exist
+    private TrackedViewers trackedViewers;
+    private Listener trackingListener;
+    private final List<Player> newViewers = new ArrayList<>();
+
+    // Level-of-detail bands: near viewers see every frame, mid viewers every
+    // Nth step and far viewers only frame 0
+    private volatile double nearDistanceSquared = DEFAULT_NEAR_DISTANCE * DEFAULT_NEAR_DISTANCE;
+    private volatile double midDistanceSquared = DEFAULT_MID_DISTANCE * DEFAULT_MID_DISTANCE;
+    private volatile double farDistance = DEFAULT_FAR_DISTANCE;
+    private volatile int midFrameInterval = DEFAULT_MID_FRAME_INTERVAL;
+
+    // Animation state per player, one slot each from join to quit
+    private final AnimationStateTable states = new AnimationStateTable();
+
+    // Global animation clock and the phase planner spreading transitions over it
+    private final PhasePlanner phasePlanner = new PhasePlanner();
+    private final AnimationTimeline timeline = new AnimationTimeline(states, phasePlanner);
+
+    // Quality settings chosen by the governor for the current tick
+    private AnimationGovernor governor;
+    private boolean pausingLowPriority;
+    private double viewRadius = DEFAULT_FAR_DISTANCE;
+
+    // Packet budget between frame transitions and the network
+    private final SkinUpdateDispatcher dispatcher = new SkinUpdateDispatcher(this::isStillViewing);
 
-    // Track current frame index per player
-    private final Map<UUID, Integer> playerFrameIndex = new ConcurrentHashMap<>();
+    private final TickWorkStats workStats = new TickWorkStats();
+    private volatile int animatedCount;
 
-    // Track tick counter per player (for variable frame rates)
-    private final Map<UUID, Integer> playerTickCounter = new ConcurrentHashMap<>();
+    // Folia: animations per player on their region threads, and the global
+    // state they read, published once per tick by the global region
+    private boolean regionThreaded;
+    private final Map<UUID, RegionAnimation> regionAnimations = new ConcurrentHashMap<>();
+    private RegionUpdateBudget regionBudget;
+    private volatile long regionClock;
+    private volatile int regionStretchFactor = 1;
+    private volatile double regionViewRadius = DEFAULT_FAR_DISTANCE;
+    private volatile boolean regionPauseLowPriority;
+    private final AtomicInteger regionAnimated = new AtomicInteger();
+    private final AtomicInteger regionTransitions = new AtomicInteger();
+    private final AtomicInteger regionViewerUpdates = new AtomicInteger();
+    private final AtomicLong regionNanos = new AtomicLong();
 
     public SkinAnimationTask(SkinMotionPlugin plugin) {
         this.plugin = plugin;
     }
 
     public void start() {
+        scheduler = plugin.getPlatformScheduler();
+        regionThreaded = scheduler.isRegionThreaded();
+        if (regionThreaded) {
+            regionBudget = new RegionUpdateBudget(scheduler);
+        }
+        governor = new AnimationGovernor(plugin.getServer(), plugin.getLogger(), plugin.getPluginConfig());
+        configureLod(plugin.getPluginConfig());
+        configureDispatcher(plugin.getPluginConfig());
+
+        // Region animations read the tracker directly on their own thread
+        if (!regionThreaded && detectTrackingEvents()) {
+            trackedViewers = new TrackedViewers();
+            PaperTrackingListener listener = new PaperTrackingListener(trackedViewers);
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            listener.seed();
+            trackingListener = listener;
+        }
+
+        // Players already online never fire a join event
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            addPlayer(player);
+        }
+
         // Run every tick
-        task = Bukkit.getScheduler().runTaskTimer(plugin, this, 20L, 1L);
+        task = scheduler.runGlobalTimer(regionThreaded ? this::tickGlobalRegion : this, 20L, 1L);
         plugin.getLogger().info("[SkinAnimation] Animation task started");
     }
 
@@ -41,112 +159,475 @@ public class SkinAnimationTask implements Runnable {
             task.cancel();
             task = null;
         }
-        playerFrameIndex.clear();
-        playerTickCounter.clear();
+        if (trackingListener != null) {
+            HandlerList.unregisterAll(trackingListener);
+            trackingListener = null;
+        }
+        trackedViewers = null;
+        for (RegionAnimation animation : regionAnimations.values()) {
+            animation.cancel();
+        }
+        regionAnimations.clear();
+        states.clear();
+        phasePlanner.clear();
+        viewerGrid.clear();
+        nearbyViewers.clear();
+        dispatcher.clear();
+        workStats.reset();
+        animatedCount = 0;
+        governor = null;
         plugin.getLogger().info("[SkinAnimation] Animation task stopped");
     }
 
     @Override
     public void run() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            SkinConfig config = plugin.getPlayerSkinConfig(player.getUniqueId());
+        long startNanos = System.nanoTime();
+        viewerGridStale = true;
+        timeline.advanceClock();
 
-            // Skip if no config, not animated, or disabled
-            if (config == null || !config.isAnimated()) {
+        governor.sample();
+        int stretch = governor.getStretchFactor();
+        boolean pauseLowPriority = governor.isPausingLowPriority();
+        if (pauseLowPriority && !pausingLowPriority) {
+            refreshPriorities();
+        }
+        // Paused animations fell behind the clock and would all transition at once
+        boolean resumed = pausingLowPriority && !pauseLowPriority;
+        pausingLowPriority = pauseLowPriority;
+        if (stretch != timeline.getStretchFactor() || resumed) {
+            timeline.rephase(stretch);
+        }
+        viewRadius = governor.getViewRadius(farDistance);
+
+        int animated = 0;
+        int transitions = 0;
+        int slotCount = states.getSlotCount();
+        for (int slot = 0; slot < slotCount; slot++) {
+            Player player = states.getPlayer(slot);
+            if (player == null) {
                 continue;
             }
 
-            UUID playerId = player.getUniqueId();
+            // Only animated, enabled skins have a program
+            AnimationProgram program = plugin.getAnimationProgram(player.getUniqueId());
+            if (trackedViewers != null) {
+                trackedViewers.drainNewViewers(player.getUniqueId(), newViewers);
+            }
+            if (pauseLowPriority && !states.isPriority(slot)) {
+                newViewers.clear();
+                continue;
+            }
+            SkinProperty frame = timeline.tick(slot, program);
+            if (program != null) {
+                animated++;
+                if (!newViewers.isEmpty()) {
+                    // Clients that just loaded this player get its current frame
+                    dispatcher.submit(player, program.getPropertyAt(states.getStep(slot)), newViewers);
+                }
+            }
+            newViewers.clear();
+            if (frame != null) {
+                // Queue skin update for all viewers (except the player themselves)
+                transitions++;
+                int step = states.getStep(slot);
+                broadcastSkinUpdate(player, frame, step, program.getFrameAt(step));
+            }
+        }
 
-            // Increment tick counter
-            int tickCounter = playerTickCounter.getOrDefault(playerId, 0) + 1;
+        int viewerUpdates = dispatcher.dispatch();
+
+        animatedCount = animated;
+        workStats.record(transitions, viewerUpdates, System.nanoTime() - startNanos);
+    }
 
-            // Check if it's time to advance to next frame
-            if (tickCounter >= config.getFrameDurationTicks()) {
-                tickCounter = 0;
+    /**
+     * Folia global region tick: advance the clock, sample the load and
+     * publish the counters of the region animations since the last tick.
+     */
+    private void tickGlobalRegion() {
+        regionClock++;
 
-                // Get current frame index
-                int frameIndex = playerFrameIndex.getOrDefault(playerId, 0);
-                int frameCount = config.getFrameCount();
+        governor.sample();
+        regionStretchFactor = governor.getStretchFactor();
+        regionViewRadius = governor.getViewRadius(farDistance);
+        regionPauseLowPriority = governor.isPausingLowPriority();
+        regionBudget.refill();
 
-                // Advance to next frame based on loop mode
-                frameIndex = advanceFrame(frameIndex, frameCount, config.getLoopMode());
-                playerFrameIndex.put(playerId, frameIndex);
+        animatedCount = regionAnimated.getAndSet(0);
+        workStats.record(regionTransitions.getAndSet(0), regionViewerUpdates.getAndSet(0),
+                regionNanos.getAndSet(0));
+    }
 
-                // Get the frame
-                SkinFrame frame = config.getFrame(frameIndex);
-                if (frame != null) {
-                    // Broadcast skin update to all viewers (except the player themselves)
-                    broadcastSkinUpdate(player, frame);
-                }
+    /**
+     * Give a joining player an animation slot.
+     */
+    public void addPlayer(@NotNull Player player) {
+        boolean priority = player.hasPermission(PRIORITY_PERMISSION);
+        if (regionThreaded) {
+            RegionAnimation animation = new RegionAnimation(player, priority);
+            if (regionAnimations.putIfAbsent(player.getUniqueId(), animation) == null) {
+                animation.start();
             }
+            return;
+        }
+        states.acquire(player.getUniqueId(), player, priority);
+    }
+
+    /**
+     * Apply reloaded configuration.
+     */
+    public void configure(@NotNull Config config) {
+        if (governor != null) {
+            governor.configure(config);
+        }
+        configureLod(config);
+        configureDispatcher(config);
+    }
 
-            playerTickCounter.put(playerId, tickCounter);
+    private void configureLod(Config config) {
+        double near = config.getLodNearDistance();
+        double mid = config.getLodMidDistance();
+        nearDistanceSquared = near * near;
+        midDistanceSquared = mid * mid;
+        farDistance = config.getLodFarDistance();
+        midFrameInterval = config.getLodMidFrameInterval();
+    }
+
+    private void configureDispatcher(Config config) {
+        dispatcher.configure(config.getDispatchMaxPacketsPerTick(), config.getDispatchMaxPacketsPerViewer());
+        if (regionBudget != null) {
+            regionBudget.configure(config.getDispatchMaxPacketsPerTick(), config.getDispatchMaxPacketsPerViewer());
         }
+        FakePlayer.setPreEncoding(config.isDispatchPreEncodePackets());
     }
 
     /**
-     * Advance to the next frame based on loop mode.
+     * Free a leaving player's animation slot.
      */
-    private int advanceFrame(int current, int frameCount, String loopMode) {
-        if (frameCount <= 1) {
-            return 0;
+    public void removePlayer(@NotNull UUID playerId) {
+        RegionAnimation animation = regionAnimations.remove(playerId);
+        if (animation != null) {
+            animation.cancel();
+            return;
         }
 
-        switch (loopMode) {
-            case "ping_pong" -> {
-                // TODO: Implement ping-pong (need direction tracking)
-                return (current + 1) % frameCount;
-            }
-            case "once" -> {
-                if (current < frameCount - 1) {
-                    return current + 1;
-                }
-                return current; // Stay on last frame
-            }
-            default -> { // "loop"
-                return (current + 1) % frameCount;
+        int slot = states.slotOf(playerId);
+        if (slot < 0) {
+            return;
+        }
+        timeline.setProgram(slot, null);
+        states.release(playerId);
+        dispatcher.remove(playerId);
+        if (trackedViewers != null) {
+            trackedViewers.remove(playerId);
+        }
+    }
+
+    /**
+     * Read the priority permission again as pausing starts, so permissions
+     * granted or revoked since a player joined take effect.
+     */
+    private void refreshPriorities() {
+        int slotCount = states.getSlotCount();
+        for (int slot = 0; slot < slotCount; slot++) {
+            Player player = states.getPlayer(slot);
+            if (player != null) {
+                states.setPriority(slot, player.hasPermission(PRIORITY_PERMISSION));
             }
         }
     }
 
     /**
-     * Broadcast a skin update to all players who can see the target player.
+     * Queue a skin update for the players who can see the target player
+     * and whose distance band includes this step.
      */
-    private void broadcastSkinUpdate(Player target, SkinFrame frame) {
-        for (Player viewer : Bukkit.getOnlinePlayers()) {
+    private void broadcastSkinUpdate(Player target, SkinProperty frame, int step, int frameIndex) {
+        boolean tracked = trackedViewers != null;
+        if (tracked) {
+            nearbyViewers.addAll(trackedViewers.getViewers(target.getUniqueId()));
+        } else {
+            // Only index positions on ticks where some frame actually changes
+            if (viewerGridStale) {
+                viewerGrid.rebuild(Bukkit.getOnlinePlayers());
+                viewerGridStale = false;
+            }
+            viewerGrid.collectNearby(target, viewRadius, nearbyViewers);
+        }
+
+        double viewRadiusSquared = viewRadius * viewRadius;
+
+        boolean midStep = step % midFrameInterval == 0;
+        boolean farStep = frameIndex == 0;
+        target.getLocation(targetLocation);
+
+        for (int i = 0; i < nearbyViewers.size(); i++) {
+            Player viewer = nearbyViewers.get(i);
             // Don't update the player's view of themselves
             if (viewer.equals(target)) {
                 continue;
             }
 
-            // Check if viewer can see target
-            if (!viewer.canSee(target)) {
+            viewer.getLocation(viewerLocation);
+            double dx = viewerLocation.getX() - targetLocation.getX();
+            double dy = viewerLocation.getY() - targetLocation.getY();
+            double dz = viewerLocation.getZ() - targetLocation.getZ();
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared > viewRadiusSquared) {
+                continue;
+            }
+            if (!isInDetailBand(distanceSquared, midStep, farStep)) {
                 continue;
             }
 
-            // Check distance (only broadcast to nearby players)
-            if (viewer.getWorld().equals(target.getWorld()) &&
-                    viewer.getLocation().distanceSquared(target.getLocation()) < 64 * 64) {
-
-                // Send skin update packet
-                try {
-                    FakePlayer.sendSkinUpdatePacket(viewer, target, frame.toSkinProperty());
-                } catch (Exception e) {
-                    // Log once per player, not every tick
-                    if (playerTickCounter.get(target.getUniqueId()) == 0) {
-                        plugin.getLogger().warning("Failed to send skin update to " + viewer.getName() + ": " + e.getMessage());
-                    }
-                }
+            // A tracking client has already been checked for visibility by the server
+            if (tracked || viewer.canSee(target)) {
+                recipients.add(viewer);
             }
         }
+        nearbyViewers.clear();
+
+        if (!recipients.isEmpty()) {
+            dispatcher.submit(target, frame, recipients);
+            recipients.clear();
+        }
+    }
+
+    /**
+     * Check that a viewer an update was queued for still has the target
+     * loaded: still tracking it on Paper, or elsewhere still within the
+     * broadcast radius and able to see it.
+     */
+    private boolean isStillViewing(Player viewer, Player target) {
+        if (trackedViewers != null) {
+            return trackedViewers.isTracking(viewer, target.getUniqueId());
+        }
+        viewer.getLocation(viewerLocation);
+        target.getLocation(targetLocation);
+        if (viewerLocation.getWorld() != targetLocation.getWorld()) {
+            return false;
+        }
+        double dx = viewerLocation.getX() - targetLocation.getX();
+        double dy = viewerLocation.getY() - targetLocation.getY();
+        double dz = viewerLocation.getZ() - targetLocation.getZ();
+        return dx * dx + dy * dy + dz * dz <= viewRadius * viewRadius && viewer.canSee(target);
+    }
+
+    /**
+     * Check if a viewer at some distance should receive a step: near viewers
+     * get every step, mid viewers every Nth and far viewers only frame 0.
+     */
+    private boolean isInDetailBand(double distanceSquared, boolean midStep, boolean farStep) {
+        if (distanceSquared < nearDistanceSquared) {
+            return true;
+        }
+        return distanceSquared < midDistanceSquared ? midStep : farStep;
+    }
+
+    private static boolean detectTrackingEvents() {
+        try {
+            Class.forName("io.papermc.paper.event.player.PlayerTrackEntityEvent");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 
     /**
-     * Reset animation state for a player.
+     * Reset animation state for a player. Must be called from the main thread.
      */
     public void resetPlayer(UUID playerId) {
-        playerFrameIndex.remove(playerId);
-        playerTickCounter.remove(playerId);
+        int slot = states.slotOf(playerId);
+        if (slot >= 0) {
+            timeline.setProgram(slot, states.getProgram(slot));
+        }
+    }
+
+    /**
+     * Get per-tick work counters.
+     */
+    @NotNull
+    public TickWorkStats getWorkStats() {
+        return workStats;
+    }
+
+    /**
+     * Get the counters of the packet-budgeted update queue: the dispatcher,
+     * or the shared region budget on Folia.
+     */
+    @NotNull
+    public UpdateQueueStats getUpdateQueueStats() {
+        RegionUpdateBudget budget = regionBudget;
+        return budget != null ? budget : dispatcher;
+    }
+
+    /**
+     * Get the load governor, or null while the task is stopped.
+     */
+    @Nullable
+    public AnimationGovernor getGovernor() {
+        return governor;
+    }
+
+    /**
+     * Number of players whose skin was animated on the last tick.
+     */
+    public int getAnimatedCount() {
+        return animatedCount;
+    }
+
+    /**
+     * One player's animation on Folia, run every tick by the player's entity
+     * scheduler on the thread of the region holding them.
+     */
+    private final class RegionAnimation implements Runnable {
+
+        private final Player player;
+        private boolean priority;
+        private boolean pausing;  // whether low-priority animations were paused on the last tick
+        private volatile PlatformTask task;
+
+        private AnimationProgram program;
+        private int step;
+        private long origin;
+        private int period;  // stretched frame duration the phase was planned for
+        private long nextTick = Long.MAX_VALUE;
+        private boolean paused;
+
+        private final RegionUpdateBudget.Queue updates;
+        private final List<Player> recipients = new ArrayList<>();
+        private final Location targetLocation = new Location(null, 0, 0, 0);
+        private final Location viewerLocation = new Location(null, 0, 0, 0);
+
+        RegionAnimation(Player player, boolean priority) {
+            this.player = player;
+            this.priority = priority;
+            this.updates = regionBudget.newQueue(player);
+        }
+
+        void start() {
+            task = scheduler.runForEntityTimer(player, this, () -> removePlayer(player.getUniqueId()), 1L, 1L);
+        }
+
+        void cancel() {
+            PlatformTask current = task;
+            if (current != null) {
+                current.cancel();
+            }
+            setProgram(null, regionClock);
+            updates.clear();
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            long now = regionClock;
+
+            AnimationProgram current = plugin.getAnimationProgram(player.getUniqueId());
+            if (current != program) {
+                // New, replaced or removed skin: start from the first step
+                setProgram(current, now);
+            }
+            boolean pauseLowPriority = regionPauseLowPriority;
+            if (pauseLowPriority && !pausing) {
+                // Permissions may have changed since the player joined
+                priority = player.hasPermission(PRIORITY_PERMISSION);
+            }
+            pausing = pauseLowPriority;
+            boolean pause = pauseLowPriority && !priority;
+            if (program != null && !pause) {
+                if (paused) {
+                    // Fell behind the clock while paused; resume on a spread phase
+                    rephase(now);
+                }
+                advance(now);
+            }
+            paused = pause;
+
+            // Updates deferred on earlier ticks keep going out while paused
+            if (!updates.isEmpty()) {
+                regionViewerUpdates.addAndGet(updates.send());
+            }
+            regionNanos.addAndGet(System.nanoTime() - startNanos);
+        }
+
+        private void advance(long now) {
+            if (program.getTicksAt(0) * regionStretchFactor != period) {
+                // Spread transitions again over the new frame durations
+                rephase(now);
+            }
+            regionAnimated.incrementAndGet();
+            if (now < nextTick) {
+                return;
+            }
+
+            int next = program.nextStep(step);
+            // A finished one-shot animation stays on its last step
+            boolean finished = program.nextStep(next) == next;
+            nextTick = finished ? Long.MAX_VALUE : now + (long) program.getTicksAt(next) * regionStretchFactor;
+            if (next == step) {
+                return;
+            }
+            step = next;
+
+            regionTransitions.incrementAndGet();
+            broadcast(program.getPropertyAt(step), program.getFrameAt(step));
+        }
+
+        private void setProgram(@Nullable AnimationProgram newProgram, long now) {
+            int newPeriod = newProgram != null ? newProgram.getTicksAt(0) * regionStretchFactor : 0;
+            if (program != null) {
+                phasePlanner.remove(origin, period);
+            }
+            origin = newProgram != null ? phasePlanner.place(now, newPeriod) : now;
+            program = newProgram;
+            period = newPeriod;
+            step = 0;
+            nextTick = newProgram != null ? origin + newPeriod : Long.MAX_VALUE;
+        }
+
+        /**
+         * Move to a phase planned for the current stretch factor, at most one
+         * stretched frame away. Also used when resuming from a pause.
+         */
+        private void rephase(long now) {
+            int newPeriod = program.getTicksAt(0) * regionStretchFactor;
+            phasePlanner.remove(origin, period);
+            origin = phasePlanner.place(now, newPeriod);
+            period = newPeriod;
+            if (nextTick != Long.MAX_VALUE) {
+                nextTick = origin;
+            }
+        }
+
+        /**
+         * Queue a frame for the tracking viewers in this region whose distance
+         * band includes the current step.
+         */
+        private void broadcast(SkinProperty frame, int frameIndex) {
+            double radius = regionViewRadius;
+            double radiusSquared = radius * radius;
+            boolean midStep = step % midFrameInterval == 0;
+            boolean farStep = frameIndex == 0;
+            player.getLocation(targetLocation);
+
+            for (Player viewer : player.getTrackedPlayers()) {
+                // A viewer in another region can't be read from this thread
+                if (!scheduler.isOwnedByCurrentThread(viewer)) {
+                    continue;
+                }
+                viewer.getLocation(viewerLocation);
+                double dx = viewerLocation.getX() - targetLocation.getX();
+                double dy = viewerLocation.getY() - targetLocation.getY();
+                double dz = viewerLocation.getZ() - targetLocation.getZ();
+                double distanceSquared = dx * dx + dy * dy + dz * dz;
+                if (distanceSquared <= radiusSquared && isInDetailBand(distanceSquared, midStep, farStep)) {
+                    recipients.add(viewer);
+                }
+            }
+            if (!recipients.isEmpty()) {
+                updates.submit(frame, recipients);
+                recipients.clear();
+            }
+        }
     }
 }
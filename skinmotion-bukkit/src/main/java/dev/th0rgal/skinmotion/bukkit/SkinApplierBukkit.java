@@ -1,13 +1,22 @@
 package dev.th0rgal.skinmotion.bukkit;
 
+import dev.th0rgal.skinmotion.bukkit.npc.FakePlayer;
 import dev.th0rgal.skinmotion.bukkit.paper.PaperSkinApplier;
+import dev.th0rgal.skinmotion.bukkit.scheduler.PlatformScheduler;
 import dev.th0rgal.skinmotion.bukkit.spigot.SpigotSkinApplier;
 import dev.th0rgal.skinmotion.core.model.SkinProperty;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,8 +27,15 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public final class SkinApplierBukkit {
 
+    // Equipment a player entity shows, resent after a targeted refresh respawns it
+    private static final EquipmentSlot[] PLAYER_SLOTS = {
+            EquipmentSlot.HAND, EquipmentSlot.OFF_HAND,
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
     private final SkinMotionPlugin plugin;
     private final boolean isPaper;
+    private final boolean targetedRefresh;
     
     // Store original skins for restoration
     private final Map<UUID, SkinProperty> originalSkins = new ConcurrentHashMap<>();
@@ -27,7 +43,8 @@ public final class SkinApplierBukkit {
     public SkinApplierBukkit(@NotNull SkinMotionPlugin plugin) {
         this.plugin = plugin;
         this.isPaper = detectPaper();
-        
+        this.targetedRefresh = detectTrackedPlayers() && FakePlayer.isAvailable();
+
         if (isPaper) {
             plugin.getLogger().info("Paper API detected - using native skin application");
         } else {
@@ -49,8 +66,8 @@ public final class SkinApplierBukkit {
         // Store original skin if not already stored
         storeOriginalSkin(player);
 
-        // Run on main thread
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        // Run on the thread owning the player
+        plugin.getPlatformScheduler().runForEntity(player, () -> {
             if (!player.isOnline()) {
                 return;
             }
@@ -83,7 +100,7 @@ public final class SkinApplierBukkit {
             return false;
         }
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
+        plugin.getPlatformScheduler().runForEntity(player, () -> {
             if (!player.isOnline()) {
                 return;
             }
@@ -136,26 +153,13 @@ public final class SkinApplierBukkit {
 
     /**
      * Refresh the player so other players can see skin changes.
-     * Uses hide/show technique to force client updates.
+     * Where the entity tracker is exposed, only the clients tracking the
+     * player get it respawned with the new skin; otherwise uses the hide/show
+     * technique on every online player to force client updates.
      */
     private void refreshPlayer(@NotNull Player player) {
-        for (Player other : Bukkit.getOnlinePlayers()) {
-            if (other.getUniqueId().equals(player.getUniqueId())) {
-                continue;
-            }
-            if (!other.canSee(player)) {
-                continue;
-            }
-
-            // Hide and show the player to force skin update
-            other.hidePlayer(plugin, player);
-            
-            // Small delay to ensure the hide packet is sent
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (other.isOnline() && player.isOnline()) {
-                    other.showPlayer(plugin, player);
-                }
-            }, 2L);
+        if (!targetedRefresh || !refreshTrackingViewers(player)) {
+            hideAndShowForAll(player);
         }
 
         // Try to send health update for the player themselves (Paper-specific)
@@ -168,6 +172,84 @@ public final class SkinApplierBukkit {
         }
     }
 
+    /**
+     * Respawn the player with their current skin for the clients tracking
+     * them, in one pass, then restore the equipment the respawn cleared.
+     *
+     * @return false if the refresh could not be built
+     */
+    private boolean refreshTrackingViewers(Player player) {
+        SkinProperty skin = getCurrentSkin(player);
+        if (skin == null) {
+            return false;
+        }
+        FakePlayer.SkinUpdate update = FakePlayer.createSkinRefresh(player, skin);
+        if (update == null) {
+            return false;
+        }
+
+        Map<Player, List<FakePlayer.SkinUpdate>> updates = new LinkedHashMap<>();
+        for (Player viewer : player.getTrackedPlayers()) {
+            updates.put(viewer, List.of(update));
+        }
+        if (updates.isEmpty()) {
+            return true;
+        }
+        FakePlayer.sendSkinUpdates(updates);
+
+        Map<EquipmentSlot, ItemStack> equipment = getVisibleEquipment(player);
+        if (!equipment.isEmpty()) {
+            for (Player viewer : updates.keySet()) {
+                viewer.sendEquipmentChange(player, equipment);
+            }
+        }
+        return true;
+    }
+
+    private static Map<EquipmentSlot, ItemStack> getVisibleEquipment(Player player) {
+        Map<EquipmentSlot, ItemStack> equipment = new EnumMap<>(EquipmentSlot.class);
+        EntityEquipment playerEquipment = player.getEquipment();
+        for (EquipmentSlot slot : PLAYER_SLOTS) {
+            ItemStack item = playerEquipment.getItem(slot);
+            if (!item.getType().isAir()) {
+                equipment.put(slot, item);
+            }
+        }
+        return equipment;
+    }
+
+    private void hideAndShowForAll(Player player) {
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        for (Player other : Bukkit.getOnlinePlayers()) {
+            if (other.getUniqueId().equals(player.getUniqueId())) {
+                continue;
+            }
+
+            // Each viewer is changed on the thread owning it
+            if (scheduler.isOwnedByCurrentThread(other)) {
+                hideAndShow(other, player);
+            } else {
+                scheduler.runForEntity(other, () -> hideAndShow(other, player));
+            }
+        }
+    }
+
+    private void hideAndShow(Player viewer, Player player) {
+        if (!viewer.canSee(player)) {
+            return;
+        }
+
+        // Hide and show the player to force skin update
+        viewer.hidePlayer(plugin, player);
+
+        // Small delay to ensure the hide packet is sent, batched with the viewer's other re-shows
+        plugin.getTimingWheel().runFor(viewer, () -> {
+            if (player.isOnline()) {
+                viewer.showPlayer(plugin, player);
+            }
+        }, 2L);
+    }
+
     /**
      * Check if Paper API is available.
      */
@@ -183,6 +265,18 @@ public final class SkinApplierBukkit {
         }
     }
 
+    /**
+     * Check if entities expose the players tracking them (Paper).
+     */
+    private boolean detectTrackedPlayers() {
+        try {
+            Entity.class.getMethod("getTrackedPlayers");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     /**
      * Check if running on Paper.
      */
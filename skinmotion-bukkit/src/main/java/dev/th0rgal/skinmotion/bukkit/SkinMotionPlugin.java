@@ -1,8 +1,13 @@
 package dev.th0rgal.skinmotion.bukkit;
 
 import dev.th0rgal.skinmotion.bukkit.commands.SkinCommand;
+import dev.th0rgal.skinmotion.bukkit.scheduler.PlatformScheduler;
+import dev.th0rgal.skinmotion.bukkit.scheduler.PlatformTask;
+import dev.th0rgal.skinmotion.bukkit.scheduler.TimingWheel;
 import dev.th0rgal.skinmotion.bukkit.storage.SkinStorage;
+import dev.th0rgal.skinmotion.core.animation.AnimationProgram;
 import dev.th0rgal.skinmotion.core.api.SkinApiClient;
+import dev.th0rgal.skinmotion.core.cache.BoundedCache;
 import dev.th0rgal.skinmotion.core.config.Config;
 import dev.th0rgal.skinmotion.core.model.SkinConfig;
 import dev.th0rgal.skinmotion.core.websocket.SkinWebSocketClient;
@@ -23,9 +28,15 @@ import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Main entry point for the SkinMotion Bukkit/Paper plugin.
@@ -36,6 +47,12 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
 
     private static SkinMotionPlugin instance;
 
+    /** Delay before a pushed skin change is fetched, so bursts collapse into one fetch */
+    private static final long REFRESH_DEBOUNCE_TICKS = 10L;
+
+    /** How often expired recent skins are dropped, rather than waiting for LRU eviction */
+    private static final long CACHE_PURGE_PERIOD_TICKS = 20L * 60;
+
     private Config config;
     private SkinApiClient skinApiClient;
     private BukkitAudiences audiences;
@@ -47,12 +64,34 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
     /** Cache of player skin configs (in-memory) */
     private final Map<UUID, SkinConfig> playerSkins = new ConcurrentHashMap<>();
 
+    /** Compiled animation programs of players with animated skins, read by the animation task */
+    private final Map<UUID, AnimationProgram> animationPrograms = new ConcurrentHashMap<>();
+
+    /** Skin configs of players who recently quit, served on rejoin */
+    private BoundedCache<UUID, SkinConfig> recentSkins;
+    private PlatformTask cachePurgeTask;
+
+    /** Debounced refreshes waiting to run, per player */
+    private final Map<UUID, PlatformTask> pendingRefreshes = new ConcurrentHashMap<>();
+
+    /** Main-thread or region-thread scheduling, depending on the server */
+    private PlatformScheduler scheduler;
+
+    /** Batched short delayed actions for viewers, such as tablist removals */
+    private TimingWheel timingWheel;
+
     @Override
     public void onEnable() {
         instance = this;
+        scheduler = PlatformScheduler.create(this);
+        timingWheel = new TimingWheel(scheduler);
+        timingWheel.start();
 
         // Load configuration
         config = Config.load(getDataFolder());
+        recentSkins = createRecentSkinCache();
+        cachePurgeTask = scheduler.runGlobalTimer(() -> recentSkins.purgeExpired(),
+                CACHE_PURGE_PERIOD_TICKS, CACHE_PURGE_PERIOD_TICKS);
 
         // Initialize SQLite storage
         skinStorage = new SkinStorage(getDataFolder(), getLogger());
@@ -63,6 +102,7 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
+        skinStorage.startWriteBehind(config.getWriteBehindSeconds());
 
         // Initialize API client
         skinApiClient = new SkinApiClient(
@@ -98,9 +138,16 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
         // Connect to WebSocket
         connectWebSocket();
 
+        // Players already online (e.g. after a plugin reload) never fire a join event
+        resyncOnlinePlayers(true);
+
         getLogger().info("SkinMotion enabled! API: " + config.getApiUrl());
     }
 
+    private BoundedCache<UUID, SkinConfig> createRecentSkinCache() {
+        return new BoundedCache<>(config.getCacheMaxSize(), Duration.ofSeconds(config.getCacheTtlSeconds()));
+    }
+
     /**
      * Connect to the API WebSocket for real-time updates.
      */
@@ -139,27 +186,21 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
                 String username = message.getString("minecraft_username");
                 if (uuid != null) {
                     getLogger().info("Received skin update for " + username + " (" + uuid + ")");
-                    // Find online player and refresh their skin
-                    getServer().getScheduler().runTask(this, () -> {
-                        Player player = Bukkit.getPlayer(UUID.fromString(uuid));
-                        if (player != null && player.isOnline()) {
-                            refreshPlayerSkin(player);
-                        }
-                    });
+                    UUID playerId = UUID.fromString(uuid);
+                    // A cached config for an offline player is now stale
+                    recentSkins.invalidate(playerId);
+                    // Refresh the player's skin if they are online
+                    scheduler.runGlobal(() -> scheduleRefresh(playerId));
                 }
             }
             case CONFIG_CHANGED -> {
                 String uuid = message.getString("minecraft_uuid");
                 if (uuid != null) {
                     getLogger().info("Received config change for " + uuid);
-                    // Update the cached config
-                    getServer().getScheduler().runTask(this, () -> {
-                        Player player = Bukkit.getPlayer(UUID.fromString(uuid));
-                        if (player != null && player.isOnline()) {
-                            // Just refresh the whole config
-                            refreshPlayerSkin(player);
-                        }
-                    });
+                    UUID playerId = UUID.fromString(uuid);
+                    recentSkins.invalidate(playerId);
+                    // Just refresh the whole config
+                    scheduler.runGlobal(() -> scheduleRefresh(playerId));
                 }
             }
             case PONG -> {
@@ -171,11 +212,42 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
         }
     }
 
+    /**
+     * Refresh a player's skin after a short delay. Any refresh already
+     * pending for the player is replaced, so a burst of updates results in
+     * a single fetch. Must be called from the main thread, or the global
+     * region on Folia, so the player lookup doesn't race the player list.
+     */
+    private void scheduleRefresh(UUID playerId) {
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+
+        AtomicReference<PlatformTask> self = new AtomicReference<>();
+        PlatformTask refresh = scheduler.runForEntityLater(player, () -> {
+            pendingRefreshes.remove(playerId, self.get());
+            if (player.isOnline()) {
+                refreshPlayerSkin(player);
+            }
+        }, REFRESH_DEBOUNCE_TICKS);
+        self.set(refresh);
+
+        PlatformTask previous = pendingRefreshes.put(playerId, refresh);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         UUID playerId = player.getUniqueId();
 
+        if (animationTask != null) {
+            animationTask.addPlayer(player);
+        }
+
         // Notify API that player is online
         if (webSocketClient != null && webSocketClient.isConnected()) {
             webSocketClient.sendPlayerOnline(
@@ -184,20 +256,40 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
             );
         }
 
-        // Load skin - first try local storage, then fetch from API if needed
-        getServer().getScheduler().runTaskAsynchronously(this, () -> {
-            // Try loading from local SQLite first
-            SkinConfig localSkin = skinStorage.loadSkin(playerId);
-            
+        // A player who quit recently still has a fresh config in memory;
+        // skip both storage and the API
+        SkinConfig recentSkin = recentSkins.get(playerId);
+        if (recentSkin != null) {
+            recentSkins.invalidate(playerId);
+            setPlayerSkin(playerId, recentSkin);
+            if (recentSkin.getFirstFrame() != null) {
+                skinApplier.applySkin(player, recentSkin.getFirstFrame().toSkinProperty());
+            }
+        } else {
+            loadSkin(player);
+        }
+
+        // Generate and send dashboard link if configured
+        if (config.isSendLinkOnJoin()) {
+            sendDashboardLink(player);
+        }
+    }
+
+    /**
+     * Load a joining player's skin - first try local storage, then fetch from API if needed.
+     */
+    private void loadSkin(Player player) {
+        UUID playerId = player.getUniqueId();
+        skinStorage.loadSkin(playerId).thenAccept(localSkin -> {
             if (localSkin != null) {
                 // Use locally persisted skin
-                playerSkins.put(playerId, localSkin);
+                setPlayerSkin(playerId, localSkin);
                 getLogger().info("Loaded persisted skin for " + player.getName() +
                         " (" + localSkin.getFrameCount() + " frames)");
 
                 // Apply first frame to player
                 if (localSkin.getFirstFrame() != null) {
-                    getServer().getScheduler().runTask(this, () -> {
+                    scheduler.runForEntity(player, () -> {
                         if (player.isOnline()) {
                             skinApplier.applySkin(player, localSkin.getFirstFrame().toSkinProperty());
                         }
@@ -210,56 +302,22 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
                 // No local skin, fetch from API
                 fetchAndUpdateSkinFromApi(player, true);
             }
-
-            // Generate and send dashboard link if configured
-            if (config.isSendLinkOnJoin()) {
-                sendDashboardLink(player);
-            }
+        }).exceptionally(e -> {
+            getLogger().warning("Failed to load persisted skin for " + player.getName() + ": " + e.getMessage());
+            fetchAndUpdateSkinFromApi(player, true);
+            return null;
         });
     }
 
     /**
      * Fetch skin from API and optionally apply immediately.
+     * When only checking for updates, the current skin is revalidated with a
+     * conditional request and a 304 keeps it as is.
      */
     private void fetchAndUpdateSkinFromApi(Player player, boolean applyImmediately) {
-        skinApiClient.getSkinConfig(player.getUniqueId().toString())
-                .thenAccept(apiSkin -> {
-                    if (apiSkin != null) {
-                        UUID playerId = player.getUniqueId();
-                        
-                        // Check if skin has changed (compare frame count and first frame)
-                        SkinConfig currentSkin = playerSkins.get(playerId);
-                        boolean skinChanged = currentSkin == null ||
-                                currentSkin.getFrameCount() != apiSkin.getFrameCount() ||
-                                !isSameFirstFrame(currentSkin, apiSkin);
-
-                        if (skinChanged || applyImmediately) {
-                            playerSkins.put(playerId, apiSkin);
-                            
-                            // Persist to local storage
-                            skinStorage.saveSkin(apiSkin);
-                            
-                            getLogger().info((applyImmediately ? "Fetched" : "Updated") + 
-                                    " skin for " + player.getName() +
-                                    " (" + apiSkin.getFrameCount() + " frames)");
-
-                            // Apply first frame to player
-                            if (apiSkin.getFirstFrame() != null && (applyImmediately || skinChanged)) {
-                                getServer().getScheduler().runTask(this, () -> {
-                                    if (player.isOnline()) {
-                                        skinApplier.applySkin(player, apiSkin.getFirstFrame().toSkinProperty());
-                                    }
-                                });
-                            }
-                        }
-                    } else if (applyImmediately) {
-                        // API returned no skin - if we had one locally, it was deleted
-                        SkinConfig currentSkin = playerSkins.remove(player.getUniqueId());
-                        if (currentSkin != null) {
-                            skinStorage.deleteSkin(player.getUniqueId());
-                        }
-                    }
-                })
+        SkinConfig cached = applyImmediately ? null : playerSkins.get(player.getUniqueId());
+        skinApiClient.getSkinConfig(player.getUniqueId().toString(), cached)
+                .thenAccept(apiSkin -> updateSkinFromApi(player, apiSkin, applyImmediately))
                 .exceptionally(e -> {
                     if (applyImmediately) {
                         getLogger().warning("Failed to fetch skin for " + player.getName() + 
@@ -269,6 +327,104 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
                 });
     }
 
+    /**
+     * Fetch the skins of every online player in batched requests.
+     */
+    private void resyncOnlinePlayers(boolean applyImmediately) {
+        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
+        if (players.isEmpty()) {
+            return;
+        }
+
+        List<String> uuids = new ArrayList<>(players.size());
+        for (Player player : players) {
+            uuids.add(player.getUniqueId().toString());
+        }
+
+        skinApiClient.getSkinConfigs(uuids)
+                .thenAccept(apiSkins -> {
+                    for (Player player : players) {
+                        if (player.isOnline()) {
+                            updateSkinFromApi(player, apiSkins.get(player.getUniqueId().toString()), applyImmediately);
+                        }
+                    }
+                    getLogger().info("Resynced skins for " + players.size() + " online player(s)");
+                })
+                .exceptionally(e -> {
+                    getLogger().warning("Failed to resync skins for online players: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Store and apply a skin fetched from the API if it differs from the current one.
+     */
+    private void updateSkinFromApi(Player player, @Nullable SkinConfig apiSkin, boolean applyImmediately) {
+        if (apiSkin != null) {
+            UUID playerId = player.getUniqueId();
+            
+            // Check if skin has changed (compare frame count and first frame)
+            SkinConfig currentSkin = playerSkins.get(playerId);
+            if (apiSkin == currentSkin) {
+                // Not modified since the local copy
+                return;
+            }
+            boolean skinChanged = currentSkin == null ||
+                    currentSkin.getFrameCount() != apiSkin.getFrameCount() ||
+                    !isSameFirstFrame(currentSkin, apiSkin);
+
+            if (skinChanged || applyImmediately) {
+                setPlayerSkin(playerId, apiSkin);
+                
+                // Persist to local storage
+                skinStorage.queueSave(apiSkin);
+                
+                getLogger().info((applyImmediately ? "Fetched" : "Updated") + 
+                        " skin for " + player.getName() +
+                        " (" + apiSkin.getFrameCount() + " frames)");
+
+                // Apply first frame to player
+                if (apiSkin.getFirstFrame() != null && (applyImmediately || skinChanged)) {
+                    scheduler.runForEntity(player, () -> {
+                        if (player.isOnline()) {
+                            skinApplier.applySkin(player, apiSkin.getFirstFrame().toSkinProperty());
+                        }
+                    });
+                }
+            } else if (!Objects.equals(currentSkin.getEtag(), apiSkin.getEtag())
+                    || !Objects.equals(currentSkin.getLastModified(), apiSkin.getLastModified())) {
+                // Same skin, but keep the fresh validators so the next join can revalidate
+                setPlayerSkin(playerId, apiSkin);
+                skinStorage.queueSave(apiSkin);
+            }
+        } else if (applyImmediately) {
+            // API returned no skin - if we had one locally, it was deleted
+            SkinConfig currentSkin = removePlayerSkin(player.getUniqueId());
+            if (currentSkin != null) {
+                skinStorage.deleteSkin(player.getUniqueId());
+            }
+        }
+    }
+
+    /**
+     * Store a player's skin config and publish its compiled animation program.
+     */
+    private void setPlayerSkin(UUID playerId, SkinConfig skin) {
+        playerSkins.put(playerId, skin);
+        AnimationProgram program = AnimationProgram.compile(skin);
+        if (program != null) {
+            animationPrograms.put(playerId, program);
+        } else {
+            animationPrograms.remove(playerId);
+        }
+    }
+
+    @Nullable
+    private SkinConfig removePlayerSkin(UUID playerId) {
+        animationPrograms.remove(playerId);
+        return playerSkins.remove(playerId);
+    }
+
     /**
      * Check if two skin configs have the same first frame signature.
      */
@@ -283,7 +439,22 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
-        playerSkins.remove(player.getUniqueId());
+        SkinConfig skin = removePlayerSkin(player.getUniqueId());
+        if (skin != null) {
+            recentSkins.put(player.getUniqueId(), skin);
+        }
+
+        if (animationTask != null) {
+            animationTask.removePlayer(player.getUniqueId());
+        }
+
+        PlatformTask pendingRefresh = pendingRefreshes.remove(player.getUniqueId());
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel();
+        }
+
+        // Persist any queued skin change for this player
+        skinStorage.flush(player.getUniqueId());
 
         // Notify API that player is offline
         if (webSocketClient != null && webSocketClient.isConnected()) {
@@ -300,7 +471,7 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
                 player.getName(),
                 config.getServerId()
         ).thenAccept(response -> {
-            getServer().getScheduler().runTask(this, () -> {
+            scheduler.runForEntity(player, () -> {
                 if (!player.isOnline()) return;
                 
                 audiences.player(player).sendMessage(
@@ -325,21 +496,21 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
      * Called when WebSocket notifies us of a skin update.
      */
     public void refreshPlayerSkin(Player player) {
-        getServer().getScheduler().runTaskAsynchronously(this, () -> {
-            skinApiClient.getSkinConfig(player.getUniqueId().toString())
+        scheduler.runAsync(() -> {
+            skinApiClient.refreshSkinConfig(player.getUniqueId().toString())
                     .thenAccept(skinConfig -> {
                         if (skinConfig != null) {
-                            playerSkins.put(player.getUniqueId(), skinConfig);
+                            setPlayerSkin(player.getUniqueId(), skinConfig);
                             
                             // Persist to local storage
-                            skinStorage.saveSkin(skinConfig);
+                            skinStorage.queueSave(skinConfig);
                             
                             getLogger().info("Refreshed skin config for " + player.getName() +
                                     " (" + skinConfig.getFrameCount() + " frames)");
 
                             // Apply first frame to player
                             if (skinConfig.getFirstFrame() != null) {
-                                getServer().getScheduler().runTask(this, () -> {
+                                scheduler.runForEntity(player, () -> {
                                     if (!player.isOnline()) return;
                                     
                                     skinApplier.applySkin(player, skinConfig.getFirstFrame().toSkinProperty());
@@ -349,16 +520,13 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
                                 });
                             }
 
-                            // Reset animation state
-                            if (animationTask != null) {
-                                animationTask.resetPlayer(player.getUniqueId());
-                            }
+                            // The animation restarts on its own once the task sees the new program
                         } else {
                             // Skin was deleted, restore original
-                            getServer().getScheduler().runTask(this, () -> {
+                            scheduler.runForEntity(player, () -> {
                                 if (!player.isOnline()) return;
                                 
-                                playerSkins.remove(player.getUniqueId());
+                                removePlayerSkin(player.getUniqueId());
                                 skinStorage.deleteSkin(player.getUniqueId());
                                 skinApplier.restoreOriginalSkin(player);
                                 audiences.player(player).sendMessage(
@@ -387,17 +555,31 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
             animationTask = null;
         }
 
+        if (timingWheel != null) {
+            timingWheel.stop();
+        }
+
+        if (cachePurgeTask != null) {
+            cachePurgeTask.cancel();
+            cachePurgeTask = null;
+        }
+
         if (audiences != null) {
             audiences.close();
         }
 
-        // Close SQLite storage
+        // Flush queued saves and close SQLite storage
         if (skinStorage != null) {
             skinStorage.close();
             skinStorage = null;
         }
 
         playerSkins.clear();
+        animationPrograms.clear();
+        pendingRefreshes.clear();
+        if (recentSkins != null) {
+            recentSkins.clear();
+        }
         instance = null;
         getLogger().info("SkinMotion disabled.");
     }
@@ -406,7 +588,16 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
      * Reload the plugin configuration.
      */
     public void reload() {
+        Config previous = config;
         config = Config.load(getDataFolder());
+        // Keep cached skins and their statistics unless the cache settings changed
+        if (config.getCacheMaxSize() != previous.getCacheMaxSize()
+                || config.getCacheTtlSeconds() != previous.getCacheTtlSeconds()) {
+            recentSkins = createRecentSkinCache();
+        }
+        if (animationTask != null) {
+            animationTask.configure(config);
+        }
         skinApiClient = new SkinApiClient(
                 config.getApiUrl(),
                 config.getPluginApiKey(),
@@ -420,6 +611,9 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
         }
         connectWebSocket();
 
+        // The API may have changed; pick up any skins that differ
+        resyncOnlinePlayers(false);
+
         getLogger().info("Configuration reloaded.");
     }
 
@@ -445,20 +639,53 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
         return audiences;
     }
 
+    @NotNull
+    public PlatformScheduler getPlatformScheduler() {
+        return scheduler;
+    }
+
+    @NotNull
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
     @NotNull
     public SkinApplierBukkit getSkinApplier() {
         return skinApplier;
     }
 
+    @Nullable
+    public SkinAnimationTask getAnimationTask() {
+        return animationTask;
+    }
+
     @Nullable
     public SkinConfig getPlayerSkinConfig(UUID playerId) {
         return playerSkins.get(playerId);
     }
 
+    /**
+     * Get the compiled animation program of a player's skin.
+     *
+     * @return The program, or null if the player has no animated skin
+     */
+    @Nullable
+    public AnimationProgram getAnimationProgram(UUID playerId) {
+        return animationPrograms.get(playerId);
+    }
+
     public Map<UUID, SkinConfig> getPlayerSkins() {
         return playerSkins;
     }
 
+    /**
+     * Get the cache of skin configs kept for recently quit players.
+     */
+    @NotNull
+    public BoundedCache<UUID, SkinConfig> getRecentSkinCache() {
+        return recentSkins;
+    }
+
     /**
      * Check if WebSocket is connected.
      */
@@ -469,7 +696,11 @@ public final class SkinMotionPlugin extends JavaPlugin implements Listener {
     /**
      * Check if a player has a persisted skin in local storage.
      */
-    public boolean hasPersistedSkin(UUID playerId) {
-        return skinStorage != null && skinStorage.hasSkin(playerId);
+    @NotNull
+    public CompletableFuture<Boolean> hasPersistedSkin(UUID playerId) {
+        if (skinStorage == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return skinStorage.hasSkin(playerId);
     }
 }
@@ -0,0 +1,213 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import dev.th0rgal.skinmotion.core.config.Config;
+import org.bukkit.Server;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Logger;
+
+/**
+ * Lowers animation quality while the server is overloaded.
+ * <p>
+ * Samples milliseconds per tick (Paper's average tick time, or on Spigot and
+ * Folia how far animation ticks overrun their 50 ms slot) and steps through increasingly
+ * aggressive levels: stretched frame durations, then a smaller broadcast
+ * radius, then pausing animations of players without priority. A level is
+ * entered after MSPT stays above its threshold for a few seconds, and left
+ * only after MSPT stays below the threshold minus a recovery margin for
+ * longer, so quality doesn't flap around a threshold. The overrun is compared
+ * against its own thresholds, since a server busy for 45 ms per tick still
+ * keeps the 50 ms cadence.
+ * <p>
+ * On Folia the overrun is that of the global region, which doesn't reflect
+ * how loaded the region threads running the animations are.
+ * <p>
+ * Call {@link #sample()} once per tick from the main thread, or from the
+ * global region thread on Folia.
+ */
+public final class AnimationGovernor {
+
+    /**
+     * Degradation levels, each including the measures of the ones before.
+     */
+    public enum Level {
+        NORMAL,
+        STRETCHED,
+        REDUCED_RADIUS,
+        PAUSED_LOW_PRIORITY
+    }
+
+    private static final int EVALUATE_EVERY_TICKS = 20;
+    private static final int ESCALATE_AFTER_EVALUATIONS = 3;
+    private static final int RECOVER_AFTER_EVALUATIONS = 10;
+    private static final double INTERVAL_AVERAGE_WEIGHT = 0.1;
+    private static final double TICK_MILLIS = 50.0;
+
+    private final Server server;
+    private final Logger logger;
+    private boolean paperTickTimes;
+
+    private boolean enabled;
+    private double[] msptThresholds;
+    private double[] overrunThresholds;
+    private double recoveryMargin;
+    private int stretchFactor;
+    private double reducedRadius;
+
+    private volatile Level level = Level.NORMAL;
+    private volatile double mspt;
+
+    private long lastSampleNanos;
+    private int ticksSinceEvaluation;
+    private int escalateStreak;
+    private int recoverStreak;
+
+    public AnimationGovernor(@NotNull Server server, @NotNull Logger logger, @NotNull Config config) {
+        this(server, logger, config, detectPaperTickTimes());
+    }
+
+    AnimationGovernor(@Nullable Server server, @NotNull Logger logger, @NotNull Config config, boolean paperTickTimes) {
+        this.server = server;
+        this.logger = logger;
+        this.paperTickTimes = paperTickTimes;
+        configure(config);
+    }
+
+    /**
+     * Apply governor settings from the configuration.
+     */
+    public void configure(@NotNull Config config) {
+        this.enabled = config.isGovernorEnabled();
+        this.msptThresholds = new double[]{
+                0,
+                config.getGovernorStretchMspt(),
+                config.getGovernorReduceRadiusMspt(),
+                config.getGovernorPauseMspt()
+        };
+        this.overrunThresholds = new double[]{
+                0,
+                config.getGovernorStretchOverrunMs(),
+                config.getGovernorReduceRadiusOverrunMs(),
+                config.getGovernorPauseOverrunMs()
+        };
+        this.recoveryMargin = config.getGovernorRecoveryMarginMspt();
+        this.stretchFactor = config.getGovernorStretchFactor();
+        this.reducedRadius = config.getGovernorReducedRadius();
+        if (!enabled) {
+            level = Level.NORMAL;
+        }
+    }
+
+    /**
+     * Take one MSPT sample and re-evaluate the level about once per second.
+     */
+    public void sample() {
+        sample(System.nanoTime());
+    }
+
+    void sample(long now) {
+        if (paperTickTimes) {
+            try {
+                mspt = server.getAverageTickTime();
+            } catch (UnsupportedOperationException e) {
+                // Folia has no server-wide tick time; time the global region ticks instead
+                paperTickTimes = false;
+            }
+        } else if (lastSampleNanos != 0) {
+            // The gap between two ticks is 50 ms on a healthy server, so only
+            // the overrun past it says anything about load
+            double interval = (now - lastSampleNanos) / 1_000_000.0;
+            double overrun = Math.max(0, interval - TICK_MILLIS);
+            mspt += (overrun - mspt) * INTERVAL_AVERAGE_WEIGHT;
+        }
+        lastSampleNanos = now;
+
+        if (!enabled || ++ticksSinceEvaluation < EVALUATE_EVERY_TICKS) {
+            return;
+        }
+        ticksSinceEvaluation = 0;
+        evaluate();
+    }
+
+    private void evaluate() {
+        int current = level.ordinal();
+        Level[] levels = Level.values();
+        double[] thresholds = paperTickTimes ? msptThresholds : overrunThresholds;
+
+        if (current + 1 < levels.length && mspt >= thresholds[current + 1]) {
+            recoverStreak = 0;
+            if (++escalateStreak >= ESCALATE_AFTER_EVALUATIONS) {
+                escalateStreak = 0;
+                setLevel(levels[current + 1]);
+            }
+            return;
+        }
+        escalateStreak = 0;
+
+        if (current > 0 && mspt < thresholds[current] - recoveryMargin) {
+            if (++recoverStreak >= RECOVER_AFTER_EVALUATIONS) {
+                recoverStreak = 0;
+                setLevel(levels[current - 1]);
+            }
+        } else {
+            recoverStreak = 0;
+        }
+    }
+
+    private void setLevel(Level newLevel) {
+        logger.info("[SkinAnimation] " + String.format("%.1f", mspt) + " MSPT, animation quality "
+                + (newLevel.ordinal() > level.ordinal() ? "lowered" : "restored") + " to " + newLevel);
+        level = newLevel;
+    }
+
+    @NotNull
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Latest milliseconds-per-tick estimate, or the tick overrun in
+     * milliseconds where the server has no tick time.
+     */
+    public double getMspt() {
+        return mspt;
+    }
+
+    /**
+     * Whether {@link #getMspt()} is the tick overrun rather than the tick time.
+     */
+    public boolean isMeasuringOverrun() {
+        return !paperTickTimes;
+    }
+
+    /**
+     * Multiplier applied to frame durations.
+     */
+    public int getStretchFactor() {
+        return level.ordinal() >= Level.STRETCHED.ordinal() ? stretchFactor : 1;
+    }
+
+    /**
+     * Broadcast radius to use in place of the normal one.
+     */
+    public double getViewRadius(double normalRadius) {
+        return level.ordinal() >= Level.REDUCED_RADIUS.ordinal() ? Math.min(normalRadius, reducedRadius) : normalRadius;
+    }
+
+    /**
+     * Whether animations of players without priority are paused.
+     */
+    public boolean isPausingLowPriority() {
+        return level == Level.PAUSED_LOW_PRIORITY;
+    }
+
+    private static boolean detectPaperTickTimes() {
+        try {
+            Server.class.getMethod("getAverageTickTime");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import dev.th0rgal.skinmotion.core.animation.AnimationProgram;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dense per-player animation state, stored in parallel primitive arrays.
+ * Each player holds a slot from join to quit; freed slots are reused by
+ * later joins, so the arrays stay as small as the peak player count.
+ * <p>
+ * Not thread-safe: use from the main thread only.
+ */
+public final class AnimationStateTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+
+    private UUID[] playerIds = new UUID[INITIAL_CAPACITY];
+    private Player[] players = new Player[INITIAL_CAPACITY];
+    private AnimationProgram[] programs = new AnimationProgram[INITIAL_CAPACITY];
+    private int[] steps = new int[INITIAL_CAPACITY];
+    private long[] origins = new long[INITIAL_CAPACITY];
+    private long[] nextTicks = new long[INITIAL_CAPACITY];
+    private boolean[] priorities = new boolean[INITIAL_CAPACITY];
+
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int slotCount;
+
+    /**
+     * Assign a slot to a player, or return the one they already hold.
+     */
+    public int acquire(@NotNull UUID playerId, @Nullable Player player, boolean priority) {
+        Integer existing = slotsById.get(playerId);
+        if (existing != null) {
+            players[existing] = player;
+            priorities[existing] = priority;
+            return existing;
+        }
+
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == playerIds.length) {
+                grow();
+            }
+            slot = slotCount++;
+        }
+
+        playerIds[slot] = playerId;
+        players[slot] = player;
+        programs[slot] = null;
+        steps[slot] = 0;
+        origins[slot] = 0;
+        nextTicks[slot] = 0;
+        priorities[slot] = priority;
+        slotsById.put(playerId, slot);
+        return slot;
+    }
+
+    /**
+     * Free a player's slot for reuse.
+     */
+    public void release(@NotNull UUID playerId) {
+        Integer slot = slotsById.remove(playerId);
+        if (slot == null) {
+            return;
+        }
+        playerIds[slot] = null;
+        players[slot] = null;
+        programs[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Get a player's slot.
+     *
+     * @return The slot, or -1 if the player holds none
+     */
+    public int slotOf(@NotNull UUID playerId) {
+        Integer slot = slotsById.get(playerId);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Upper bound (exclusive) of slots in use; free slots below it have no player.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Number of players holding a slot.
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    @Nullable
+    public UUID getPlayerId(int slot) {
+        return playerIds[slot];
+    }
+
+    @Nullable
+    public Player getPlayer(int slot) {
+        return players[slot];
+    }
+
+    /**
+     * Whether the slot's animation keeps running when low-priority animations are paused.
+     */
+    public boolean isPriority(int slot) {
+        return priorities[slot];
+    }
+
+    public void setPriority(int slot, boolean priority) {
+        priorities[slot] = priority;
+    }
+
+    /**
+     * Program the slot's state was last advanced with.
+     */
+    @Nullable
+    public AnimationProgram getProgram(int slot) {
+        return programs[slot];
+    }
+
+    /**
+     * Switch the slot to a program, starting from its first step at the given clock tick.
+     */
+    public void setProgram(int slot, @Nullable AnimationProgram program, long origin) {
+        programs[slot] = program;
+        steps[slot] = 0;
+        origins[slot] = origin;
+        nextTicks[slot] = program != null ? origin + program.getTicksAt(0) : Long.MAX_VALUE;
+    }
+
+    public int getStep(int slot) {
+        return steps[slot];
+    }
+
+    public void setStep(int slot, int step) {
+        steps[slot] = step;
+    }
+
+    /**
+     * Clock tick at which the slot's program started.
+     */
+    public long getOrigin(int slot) {
+        return origins[slot];
+    }
+
+    public void setOrigin(int slot, long origin) {
+        origins[slot] = origin;
+    }
+
+    /**
+     * Clock tick of the slot's next frame transition.
+     */
+    public long getNextTick(int slot) {
+        return nextTicks[slot];
+    }
+
+    public void setNextTick(int slot, long tick) {
+        nextTicks[slot] = tick;
+    }
+
+    /**
+     * Release every slot.
+     */
+    public void clear() {
+        slotsById.clear();
+        Arrays.fill(playerIds, 0, slotCount, null);
+        Arrays.fill(players, 0, slotCount, null);
+        Arrays.fill(programs, 0, slotCount, null);
+        slotCount = 0;
+        freeCount = 0;
+    }
+
+    private void grow() {
+        int capacity = playerIds.length * 2;
+        playerIds = Arrays.copyOf(playerIds, capacity);
+        players = Arrays.copyOf(players, capacity);
+        programs = Arrays.copyOf(programs, capacity);
+        steps = Arrays.copyOf(steps, capacity);
+        origins = Arrays.copyOf(origins, capacity);
+        nextTicks = Arrays.copyOf(nextTicks, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+}
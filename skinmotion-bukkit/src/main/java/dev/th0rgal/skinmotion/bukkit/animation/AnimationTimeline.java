@@ -0,0 +1,117 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import dev.th0rgal.skinmotion.core.animation.AnimationProgram;
+import dev.th0rgal.skinmotion.core.model.SkinProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Frame advancement of every slot in an {@link AnimationStateTable} on one
+ * global tick clock.
+ * <p>
+ * Each animation starts at a phase picked by a {@link PhasePlanner}, and its
+ * frames last their program's durations times the current stretch factor.
+ * Viewers and packets are left to the caller, which only gets the frame a
+ * slot moved to.
+ * <p>
+ * Not thread-safe: use from the thread owning the state table.
+ */
+public final class AnimationTimeline {
+
+    private final AnimationStateTable states;
+    private final PhasePlanner phasePlanner;
+    private long clock;
+    private int stretchFactor = 1;
+
+    public AnimationTimeline(@NotNull AnimationStateTable states, @NotNull PhasePlanner phasePlanner) {
+        this.states = states;
+        this.phasePlanner = phasePlanner;
+    }
+
+    /**
+     * Move the clock to the next tick.
+     */
+    public void advanceClock() {
+        clock++;
+    }
+
+    public int getStretchFactor() {
+        return stretchFactor;
+    }
+
+    /**
+     * Advance one slot's animation to the current clock tick.
+     *
+     * @param program The player's current program, or null if they have no animated skin
+     * @return The frame to broadcast if the frame changed on this tick, or null
+     */
+    @Nullable
+    public SkinProperty tick(int slot, @Nullable AnimationProgram program) {
+        if (states.getProgram(slot) != program) {
+            // New, replaced or removed skin: start from the first step
+            setProgram(slot, program);
+        }
+
+        if (program == null || clock < states.getNextTick(slot)) {
+            return null;
+        }
+
+        int step = program.nextStep(states.getStep(slot));
+        // A finished one-shot animation stays on its last step
+        boolean finished = program.nextStep(step) == step;
+        states.setNextTick(slot, finished
+                ? Long.MAX_VALUE
+                : clock + (long) program.getTicksAt(step) * stretchFactor);
+
+        if (step == states.getStep(slot)) {
+            return null;
+        }
+        states.setStep(slot, step);
+        return program.getPropertyAt(step);
+    }
+
+    /**
+     * Switch a slot to a program, or restart its current one, from the first
+     * step at a newly planned phase. A null program frees the slot's phase.
+     */
+    public void setProgram(int slot, @Nullable AnimationProgram program) {
+        AnimationProgram previous = states.getProgram(slot);
+        if (previous != null) {
+            phasePlanner.remove(states.getOrigin(slot), previous.getTicksAt(0) * stretchFactor);
+        }
+
+        // Frame 0 stays visible until the chosen phase starts the animation
+        if (program == null) {
+            states.setProgram(slot, null, clock);
+            return;
+        }
+        int period = program.getTicksAt(0) * stretchFactor;
+        long origin = phasePlanner.place(clock, period);
+        states.setProgram(slot, program, origin);
+        states.setNextTick(slot, origin + period);
+    }
+
+    /**
+     * Place every animation again for a stretch factor, so their transitions
+     * spread over the current frame durations instead of keeping phases
+     * planned for old ones or bunching up after a pause. Each next transition
+     * moves to its new phase, at most one stretched frame away.
+     */
+    public void rephase(int stretchFactor) {
+        this.stretchFactor = stretchFactor;
+        phasePlanner.clear();
+        int slotCount = states.getSlotCount();
+        for (int slot = 0; slot < slotCount; slot++) {
+            AnimationProgram program = states.getProgram(slot);
+            if (program == null) {
+                continue;
+            }
+            long origin = phasePlanner.place(clock, program.getTicksAt(0) * stretchFactor);
+            states.setOrigin(slot, origin);
+            // A finished one-shot animation stays counted but never moves again
+            if (states.getNextTick(slot) != Long.MAX_VALUE) {
+                states.setNextTick(slot, origin);
+            }
+        }
+    }
+}
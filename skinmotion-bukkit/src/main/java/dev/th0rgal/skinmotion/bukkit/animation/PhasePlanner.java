@@ -0,0 +1,79 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import java.util.Arrays;
+
+/**
+ * Spreads frame transitions of many animations across ticks.
+ * <p>
+ * Keeps a projected transition count for each tick of a repeating window.
+ * When an animation starts, it is delayed by up to one frame duration so its
+ * transitions land on the least-loaded ticks of the window. The window length
+ * is divisible by every common frame duration, so an animation's transitions
+ * map to the same window ticks on every pass. Durations are planned as they
+ * are played, stretch included, and animations are placed again when the
+ * stretch changes.
+ * <p>
+ * Thread-safe, so the animations of every Folia region can share one planner.
+ */
+public final class PhasePlanner {
+
+    /** Divisible by 1-6, 8, 10, 12, 15, 16, 20, 24, 30, 40, 48, 60, 80 and 120 ticks */
+    private static final int WINDOW_TICKS = 240;
+
+    private final int[] load = new int[WINDOW_TICKS];
+
+    /**
+     * Pick the start tick for an animation whose frames last {@code frameTicks},
+     * and count its transitions as scheduled.
+     *
+     * @param now        The current clock tick
+     * @param frameTicks Ticks between the animation's frame transitions
+     * @return A start tick in {@code [now, now + frameTicks)}
+     */
+    public synchronized long place(long now, int frameTicks) {
+        int period = Math.max(1, frameTicks);
+        long best = now;
+        long bestCost = Long.MAX_VALUE;
+
+        for (int delay = 0; delay < period && delay < WINDOW_TICKS; delay++) {
+            long origin = now + delay;
+            long cost = 0;
+            int peak = 0;
+            for (int offset = 0; offset < WINDOW_TICKS; offset += period) {
+                int bucketLoad = load[bucket(origin + offset)];
+                cost += bucketLoad;
+                peak = Math.max(peak, bucketLoad);
+            }
+            // Prefer the lowest peak, then the lowest total
+            cost += (long) peak * WINDOW_TICKS * WINDOW_TICKS;
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = origin;
+            }
+        }
+
+        adjust(best, period, 1);
+        return best;
+    }
+
+    /**
+     * Stop counting the transitions of an animation placed earlier.
+     */
+    public synchronized void remove(long origin, int frameTicks) {
+        adjust(origin, Math.max(1, frameTicks), -1);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(load, 0);
+    }
+
+    private void adjust(long origin, int period, int delta) {
+        for (int offset = 0; offset < WINDOW_TICKS; offset += period) {
+            load[bucket(origin + offset)] += delta;
+        }
+    }
+
+    private static int bucket(long tick) {
+        return (int) Math.floorMod(tick, (long) WINDOW_TICKS);
+    }
+}
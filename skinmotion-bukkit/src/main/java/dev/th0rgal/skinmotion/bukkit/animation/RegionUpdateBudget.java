@@ -0,0 +1,206 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import dev.th0rgal.skinmotion.bukkit.npc.FakePlayer;
+import dev.th0rgal.skinmotion.bukkit.scheduler.PlatformScheduler;
+import dev.th0rgal.skinmotion.core.model.SkinProperty;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The packet budgets of {@link SkinUpdateDispatcher} for Folia, where
+ * animations run on many region threads and there is no single thread to
+ * queue every update on.
+ * <p>
+ * The budget per tick and per viewer is shared by every region and refilled
+ * once per global tick. Each animated player sends through its own
+ * {@link Queue}, owned by its region thread, which keeps the viewers still
+ * waiting for its latest frame and retries them on later ticks. As with the
+ * dispatcher, a newer frame replaces the queued one for those viewers, and
+ * viewers that stopped tracking the player meanwhile are dropped.
+ * <p>
+ * Thread-safe; each queue must only be used from the thread owning its player.
+ */
+public final class RegionUpdateBudget implements UpdateQueueStats {
+
+    private final PlatformScheduler scheduler;
+    private final AtomicInteger remainingPackets =
+            new AtomicInteger(SkinUpdateDispatcher.DEFAULT_MAX_PACKETS_PER_TICK);
+    private final Map<UUID, AtomicInteger> viewerPackets = new ConcurrentHashMap<>();
+
+    private volatile int maxPacketsPerTick = SkinUpdateDispatcher.DEFAULT_MAX_PACKETS_PER_TICK;
+    private volatile int maxPacketsPerViewer = SkinUpdateDispatcher.DEFAULT_MAX_PACKETS_PER_VIEWER;
+
+    private final AtomicInteger queuedUpdates = new AtomicInteger();
+    private final AtomicLong deferredUpdates = new AtomicLong();
+    private final AtomicLong droppedUpdates = new AtomicLong();
+
+    public RegionUpdateBudget(@NotNull PlatformScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Set the packet budgets, raised to the cost of one update as in
+     * {@link SkinUpdateDispatcher#configure}.
+     */
+    public void configure(int maxPacketsPerTick, int maxPacketsPerViewer) {
+        this.maxPacketsPerTick = SkinUpdateDispatcher.toBudget(maxPacketsPerTick);
+        this.maxPacketsPerViewer = SkinUpdateDispatcher.toBudget(maxPacketsPerViewer);
+    }
+
+    /**
+     * Refill the budgets for the next tick. Called from the global region.
+     */
+    public void refill() {
+        remainingPackets.set(maxPacketsPerTick);
+        viewerPackets.clear();
+    }
+
+    /**
+     * Take the cost of one update to a viewer from both budgets.
+     *
+     * @return false if either budget is spent
+     */
+    private boolean tryAcquire(UUID viewerId) {
+        int cost = SkinUpdateDispatcher.PACKETS_PER_UPDATE;
+        if (remainingPackets.addAndGet(-cost) < 0) {
+            remainingPackets.addAndGet(cost);
+            return false;
+        }
+        AtomicInteger used = viewerPackets.computeIfAbsent(viewerId, id -> new AtomicInteger());
+        if (used.addAndGet(cost) > maxPacketsPerViewer) {
+            used.addAndGet(-cost);
+            remainingPackets.addAndGet(cost);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Create the queue of one animated player.
+     */
+    @NotNull
+    public Queue newQueue(@NotNull Player target) {
+        return new Queue(target);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queuedUpdates.get();
+    }
+
+    @Override
+    public long getDeferredCount() {
+        return deferredUpdates.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedUpdates.get();
+    }
+
+    /**
+     * Viewers waiting for one player's latest frame.
+     */
+    public final class Queue {
+
+        private final Player target;
+        private final Set<Player> viewers = new LinkedHashSet<>();
+        private final List<Player> batch = new ArrayList<>();
+        private SkinProperty frame;
+
+        private Queue(Player target) {
+            this.target = target;
+        }
+
+        /**
+         * Queue a frame for some viewers. Viewers still waiting for an older
+         * frame get this one instead.
+         */
+        public void submit(@NotNull SkinProperty frame, @NotNull Collection<Player> newViewers) {
+            int before = viewers.size();
+            this.frame = frame;
+            viewers.addAll(newViewers);
+            queuedUpdates.addAndGet(viewers.size() - before);
+        }
+
+        public boolean isEmpty() {
+            return viewers.isEmpty();
+        }
+
+        /**
+         * Send the queued frame to the viewers the budgets allow this tick.
+         *
+         * @return The number of viewer updates sent
+         */
+        public int send() {
+            if (viewers.isEmpty()) {
+                return 0;
+            }
+            Set<Player> tracking = target.getTrackedPlayers();
+            int dropped = 0;
+            Iterator<Player> iterator = viewers.iterator();
+            while (iterator.hasNext()) {
+                Player viewer = iterator.next();
+                // A viewer that left or moved to another region can't be sent to from here,
+                // and one that no longer tracks the target would keep a copy nobody removes
+                if (!viewer.isOnline() || !scheduler.isOwnedByCurrentThread(viewer) || !tracking.contains(viewer)) {
+                    iterator.remove();
+                    dropped++;
+                    continue;
+                }
+                if (tryAcquire(viewer.getUniqueId())) {
+                    batch.add(viewer);
+                    iterator.remove();
+                }
+            }
+            droppedUpdates.addAndGet(dropped);
+            queuedUpdates.addAndGet(-(dropped + batch.size()));
+            deferredUpdates.addAndGet(viewers.size());
+
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            int sent = 0;
+            try {
+                FakePlayer.SkinUpdate update = FakePlayer.createSkinUpdate(target, frame);
+                if (update != null) {
+                    Map<Player, List<FakePlayer.SkinUpdate>> updates = new LinkedHashMap<>();
+                    for (Player viewer : batch) {
+                        updates.put(viewer, List.of(update));
+                    }
+                    FakePlayer.sendSkinUpdates(updates);
+                    sent = batch.size();
+                }
+            } catch (Exception e) {
+                Bukkit.getLogger().warning("[SkinAnimation] Failed to send skin updates for "
+                        + target.getName() + ": " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+            return sent;
+        }
+
+        /**
+         * Drop every queued viewer.
+         */
+        public void clear() {
+            droppedUpdates.addAndGet(viewers.size());
+            queuedUpdates.addAndGet(-viewers.size());
+            viewers.clear();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import dev.th0rgal.skinmotion.bukkit.npc.FakePlayer;
+import dev.th0rgal.skinmotion.core.model.SkinProperty;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+
+/**
+ * Queue of skin updates between the animation task and {@link FakePlayer},
+ * drained under a packet budget per tick and per viewer.
+ * <p>
+ * Updates that don't fit are deferred to later ticks. Animated players are
+ * served round-robin: one that could only be partly sent moves to the back
+ * of the queue, so a player with many viewers can't starve the others. A
+ * newer frame for a player replaces their queued one, which is never sent.
+ * Viewers that stopped viewing the player while their update waited are
+ * dropped, so they are never sent the player again.
+ * Everything a viewer receives in one tick is written as a single bundle.
+ * Only these decisions are made on the main thread; the packets are built
+ * and written on the viewers' Netty event loops.
+ * <p>
+ * Must only be used from the main thread; the counters can be read from any thread.
+ */
+public final class SkinUpdateDispatcher implements UpdateQueueStats {
+
+    /** Packets one viewer update costs: the respawn sequence plus the delayed tab-list removal */
+    public static final int PACKETS_PER_UPDATE = 6;
+
+    static final int DEFAULT_MAX_PACKETS_PER_TICK = 3000;
+    static final int DEFAULT_MAX_PACKETS_PER_VIEWER = 120;
+
+    private final BiPredicate<Player, Player> viewing; // (viewer, target) -> still has the target loaded
+    private final Map<UUID, PendingUpdate> pending = new HashMap<>();
+    private final ArrayDeque<PendingUpdate> queue = new ArrayDeque<>();
+    private final Map<UUID, Integer> viewerPackets = new HashMap<>();
+    private final List<Player> batch = new ArrayList<>();
+    private final Map<Player, List<FakePlayer.SkinUpdate>> outgoing = new LinkedHashMap<>();
+
+    private int maxPacketsPerTick = DEFAULT_MAX_PACKETS_PER_TICK;
+    private int maxPacketsPerViewer = DEFAULT_MAX_PACKETS_PER_VIEWER;
+
+    private volatile int queuedUpdates;
+    private volatile long deferredUpdates;
+    private volatile long droppedUpdates;
+
+    /**
+     * @param viewing Whether a viewer still has a target loaded, checked before
+     *                sending it an update
+     */
+    public SkinUpdateDispatcher(@NotNull BiPredicate<Player, Player> viewing) {
+        this.viewing = viewing;
+    }
+
+    /**
+     * Set the packet budgets. Budgets below the cost of one update are raised
+     * to it so that every update can eventually be sent.
+     */
+    public void configure(int maxPacketsPerTick, int maxPacketsPerViewer) {
+        this.maxPacketsPerTick = toBudget(maxPacketsPerTick);
+        this.maxPacketsPerViewer = toBudget(maxPacketsPerViewer);
+    }
+
+    static int toBudget(int maxPackets) {
+        return Math.max(PACKETS_PER_UPDATE, maxPackets);
+    }
+
+    /**
+     * Queue a frame of the target's skin for some viewers. Replaces any frame
+     * still queued for the target; viewers of that frame get this one instead.
+     */
+    public void submit(@NotNull Player target, @NotNull SkinProperty frame, @NotNull Collection<Player> viewers) {
+        PendingUpdate update = pending.get(target.getUniqueId());
+        if (update == null) {
+            update = new PendingUpdate(target);
+            pending.put(target.getUniqueId(), update);
+            queue.addLast(update);
+        }
+        update.frame = frame;
+        update.viewers.addAll(viewers);
+    }
+
+    /**
+     * Send queued updates until a budget runs out.
+     *
+     * @return The number of viewer updates sent
+     */
+    public int dispatch() {
+        int budget = maxPacketsPerTick;
+        int sent = 0;
+        int rounds = queue.size();
+        for (int i = 0; i < rounds && budget >= PACKETS_PER_UPDATE; i++) {
+            PendingUpdate update = queue.pollFirst();
+            Player target = update.target;
+            if (!target.isOnline()) {
+                droppedUpdates += update.viewers.size();
+                pending.remove(target.getUniqueId());
+                continue;
+            }
+
+            Iterator<Player> viewers = update.viewers.iterator();
+            while (viewers.hasNext() && budget >= PACKETS_PER_UPDATE) {
+                Player viewer = viewers.next();
+                if (!viewer.isOnline() || !viewing.test(viewer, target)) {
+                    viewers.remove();
+                    droppedUpdates++;
+                    continue;
+                }
+
+                int used = viewerPackets.getOrDefault(viewer.getUniqueId(), 0);
+                if (used + PACKETS_PER_UPDATE > maxPacketsPerViewer) {
+                    continue;
+                }
+                viewerPackets.put(viewer.getUniqueId(), used + PACKETS_PER_UPDATE);
+                budget -= PACKETS_PER_UPDATE;
+                batch.add(viewer);
+                viewers.remove();
+            }
+
+            if (!batch.isEmpty()) {
+                // Capture one shared update for every viewer in the batch
+                FakePlayer.SkinUpdate skinUpdate = buildSkinUpdate(target, update.frame);
+                if (skinUpdate != null) {
+                    for (Player viewer : batch) {
+                        outgoing.computeIfAbsent(viewer, v -> new ArrayList<>(2)).add(skinUpdate);
+                    }
+                    sent += batch.size();
+                }
+                batch.clear();
+            }
+
+            if (update.viewers.isEmpty()) {
+                pending.remove(target.getUniqueId());
+            } else {
+                queue.addLast(update);
+            }
+        }
+        viewerPackets.clear();
+
+        if (!outgoing.isEmpty()) {
+            try {
+                FakePlayer.sendSkinUpdates(outgoing);
+            } catch (Exception e) {
+                Bukkit.getLogger().warning("[SkinAnimation] Failed to send skin updates: " + e.getMessage());
+            }
+            outgoing.clear();
+        }
+
+        int remaining = 0;
+        for (PendingUpdate update : queue) {
+            remaining += update.viewers.size();
+        }
+        deferredUpdates += remaining;
+        queuedUpdates = remaining;
+        return sent;
+    }
+
+    @Nullable
+    private static FakePlayer.SkinUpdate buildSkinUpdate(Player target, SkinProperty frame) {
+        try {
+            return FakePlayer.createSkinUpdate(target, frame);
+        } catch (Exception e) {
+            Bukkit.getLogger().warning("[SkinAnimation] Failed to build skin update for "
+                    + target.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drop the update queued for a target, if any.
+     */
+    public void remove(@NotNull UUID targetId) {
+        PendingUpdate update = pending.remove(targetId);
+        if (update != null) {
+            queue.remove(update);
+            droppedUpdates += update.viewers.size();
+        }
+    }
+
+    public void clear() {
+        for (PendingUpdate update : queue) {
+            droppedUpdates += update.viewers.size();
+        }
+        pending.clear();
+        queue.clear();
+        viewerPackets.clear();
+        batch.clear();
+        outgoing.clear();
+        queuedUpdates = 0;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queuedUpdates;
+    }
+
+    @Override
+    public long getDeferredCount() {
+        return deferredUpdates;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedUpdates;
+    }
+
+    private static final class PendingUpdate {
+        final Player target;
+        final Set<Player> viewers = new LinkedHashSet<>();
+        SkinProperty frame;
+
+        PendingUpdate(Player target) {
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+/**
+ * Per-tick work counters of the animation task: frame transitions, viewer
+ * updates sent and time spent. Keeps the last tick, a moving average and the
+ * peak over roughly the last minute.
+ * <p>
+ * Written from the main thread; readers see eventually consistent values.
+ */
+public final class TickWorkStats {
+
+    private static final int PEAK_WINDOW_TICKS = 1200;
+    private static final double AVERAGE_WEIGHT = 0.05;
+
+    private volatile Sample last = Sample.EMPTY;
+    private volatile Sample average = Sample.EMPTY;
+    private volatile Sample peak = Sample.EMPTY;
+
+    private Sample windowPeak = Sample.EMPTY;
+    private Sample previousWindowPeak = Sample.EMPTY;
+    private int windowTicks;
+
+    /**
+     * Record the work done in one tick.
+     */
+    public void record(int transitions, int viewerUpdates, long nanos) {
+        Sample sample = new Sample(transitions, viewerUpdates, nanos);
+        Sample avg = average;
+
+        last = sample;
+        average = new Sample(
+                avg.transitions + (transitions - avg.transitions) * AVERAGE_WEIGHT,
+                avg.viewerUpdates + (viewerUpdates - avg.viewerUpdates) * AVERAGE_WEIGHT,
+                avg.nanos + (nanos - avg.nanos) * AVERAGE_WEIGHT);
+
+        windowPeak = Sample.max(windowPeak, sample);
+        if (++windowTicks >= PEAK_WINDOW_TICKS) {
+            previousWindowPeak = windowPeak;
+            windowPeak = Sample.EMPTY;
+            windowTicks = 0;
+        }
+        peak = Sample.max(previousWindowPeak, windowPeak);
+    }
+
+    public void reset() {
+        last = Sample.EMPTY;
+        average = Sample.EMPTY;
+        peak = Sample.EMPTY;
+        windowPeak = Sample.EMPTY;
+        previousWindowPeak = Sample.EMPTY;
+        windowTicks = 0;
+    }
+
+    public Sample getLast() {
+        return last;
+    }
+
+    public Sample getAverage() {
+        return average;
+    }
+
+    /**
+     * Highest value of each counter over the last one to two minutes.
+     */
+    public Sample getPeak() {
+        return peak;
+    }
+
+    /**
+     * Work counters of one tick, or their average.
+     */
+    public record Sample(double transitions, double viewerUpdates, double nanos) {
+
+        static final Sample EMPTY = new Sample(0, 0, 0);
+
+        static Sample max(Sample a, Sample b) {
+            return new Sample(
+                    Math.max(a.transitions, b.transitions),
+                    Math.max(a.viewerUpdates, b.viewerUpdates),
+                    Math.max(a.nanos, b.nanos));
+        }
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
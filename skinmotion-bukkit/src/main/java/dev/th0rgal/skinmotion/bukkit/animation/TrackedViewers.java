@@ -0,0 +1,140 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The clients that have each player entity loaded, kept up to date from the
+ * server's entity tracker instead of being recomputed every frame.
+ * <p>
+ * Viewers that started tracking a player since the last check are also
+ * remembered, so they can be sent that player's current frame.
+ * <p>
+ * Must only be used from the main thread.
+ */
+public final class TrackedViewers {
+
+    private final Map<UUID, Set<Player>> viewersByTarget = new HashMap<>();
+    private final Map<UUID, Set<UUID>> targetsByViewer = new HashMap<>();
+    private final Map<UUID, List<Player>> newViewersByTarget = new HashMap<>();
+
+    /**
+     * Record that a viewer's client loaded a target player.
+     */
+    public void track(@NotNull Player viewer, @NotNull Player target) {
+        if (viewer.equals(target)) {
+            return;
+        }
+        UUID targetId = target.getUniqueId();
+        if (viewersByTarget.computeIfAbsent(targetId, id -> new HashSet<>()).add(viewer)) {
+            targetsByViewer.computeIfAbsent(viewer.getUniqueId(), id -> new HashSet<>()).add(targetId);
+            newViewersByTarget.computeIfAbsent(targetId, id -> new ArrayList<>()).add(viewer);
+        }
+    }
+
+    /**
+     * Record that a viewer's client unloaded a target player.
+     */
+    public void untrack(@NotNull Player viewer, @NotNull Player target) {
+        UUID targetId = target.getUniqueId();
+        Set<Player> viewers = viewersByTarget.get(targetId);
+        if (viewers == null || !viewers.remove(viewer)) {
+            return;
+        }
+        if (viewers.isEmpty()) {
+            viewersByTarget.remove(targetId);
+        }
+
+        Set<UUID> targets = targetsByViewer.get(viewer.getUniqueId());
+        if (targets != null) {
+            targets.remove(targetId);
+            if (targets.isEmpty()) {
+                targetsByViewer.remove(viewer.getUniqueId());
+            }
+        }
+
+        List<Player> newViewers = newViewersByTarget.get(targetId);
+        if (newViewers != null) {
+            newViewers.remove(viewer);
+        }
+    }
+
+    /**
+     * Forget a player that left, both as a target and as a viewer.
+     */
+    public void remove(@NotNull UUID playerId) {
+        newViewersByTarget.remove(playerId);
+        Set<Player> viewers = viewersByTarget.remove(playerId);
+        if (viewers != null) {
+            for (Player viewer : viewers) {
+                Set<UUID> targets = targetsByViewer.get(viewer.getUniqueId());
+                if (targets != null) {
+                    targets.remove(playerId);
+                    if (targets.isEmpty()) {
+                        targetsByViewer.remove(viewer.getUniqueId());
+                    }
+                }
+            }
+        }
+
+        Set<UUID> targets = targetsByViewer.remove(playerId);
+        if (targets != null) {
+            for (UUID targetId : targets) {
+                Set<Player> targetViewers = viewersByTarget.get(targetId);
+                if (targetViewers != null) {
+                    targetViewers.removeIf(viewer -> viewer.getUniqueId().equals(playerId));
+                    if (targetViewers.isEmpty()) {
+                        viewersByTarget.remove(targetId);
+                    }
+                }
+                List<Player> newViewers = newViewersByTarget.get(targetId);
+                if (newViewers != null) {
+                    newViewers.removeIf(viewer -> viewer.getUniqueId().equals(playerId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the viewers whose clients have a target loaded.
+     */
+    @NotNull
+    public Collection<Player> getViewers(@NotNull UUID targetId) {
+        Set<Player> viewers = viewersByTarget.get(targetId);
+        return viewers != null ? viewers : Collections.emptySet();
+    }
+
+    /**
+     * Whether a viewer's client has a target loaded.
+     */
+    public boolean isTracking(@NotNull Player viewer, @NotNull UUID targetId) {
+        Set<Player> viewers = viewersByTarget.get(targetId);
+        return viewers != null && viewers.contains(viewer);
+    }
+
+    /**
+     * Move the viewers that started tracking a target since the last call into a list.
+     */
+    public void drainNewViewers(@NotNull UUID targetId, @NotNull List<Player> out) {
+        List<Player> newViewers = newViewersByTarget.remove(targetId);
+        if (newViewers != null) {
+            out.addAll(newViewers);
+        }
+    }
+
+    public void clear() {
+        viewersByTarget.clear();
+        targetsByViewer.clear();
+        newViewersByTarget.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+/**
+ * Counters of a packet-budgeted skin update queue, readable from any thread.
+ */
+public interface UpdateQueueStats {
+
+    /**
+     * Viewer updates left queued after the last dispatch.
+     */
+    int getQueueDepth();
+
+    /**
+     * Viewer updates pushed to a later tick, counted once per tick they waited.
+     */
+    long getDeferredCount();
+
+    /**
+     * Viewer updates never sent, because the target or viewer left or the
+     * queue was cleared. A frame replaced by a newer one is not counted: its
+     * viewers are sent the newer frame instead.
+     */
+    long getDroppedCount();
+}
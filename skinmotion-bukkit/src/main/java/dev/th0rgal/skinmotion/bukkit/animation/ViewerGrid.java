@@ -0,0 +1,169 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-world chunk grid of online player positions.
+ * Rebuilt once per tick so nearby-viewer queries only visit the chunks
+ * around a target instead of every online player.
+ * <p>
+ * Not thread-safe: rebuild and query from the main thread only.
+ */
+public final class ViewerGrid {
+
+    private static final int CHUNK_SHIFT = 4;
+
+    // Chunk coordinates are biased into 22 unsigned bits each and the low 19 bits hold the entry index,
+    // keeping keys positive so signed sorting orders them by chunk X, then chunk Z
+    private static final int COORD_BITS = 22;
+    private static final int INDEX_BITS = 19;
+    private static final long COORD_BIAS = 1L << (COORD_BITS - 1);
+    private static final long COORD_MASK = (1L << COORD_BITS) - 1;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final Map<UUID, WorldCells> worlds = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Rebuild the grid from the given players' current positions.
+     */
+    public void rebuild(@NotNull Collection<? extends Player> players) {
+        for (WorldCells cells : worlds.values()) {
+            cells.clear();
+        }
+
+        for (Player player : players) {
+            player.getLocation(scratch);
+            World world = scratch.getWorld();
+            if (world == null) {
+                continue;
+            }
+            worlds.computeIfAbsent(world.getUID(), id -> new WorldCells())
+                    .add(player, scratch.getX(), scratch.getY(), scratch.getZ());
+        }
+
+        for (WorldCells cells : worlds.values()) {
+            cells.sort();
+        }
+    }
+
+    /**
+     * Collect every indexed player within {@code radius} blocks of the target,
+     * including the target itself. The output list is cleared first.
+     */
+    public void collectNearby(@NotNull Player target, double radius, @NotNull List<Player> out) {
+        out.clear();
+        target.getLocation(scratch);
+        World world = scratch.getWorld();
+        if (world == null) {
+            return;
+        }
+        WorldCells cells = worlds.get(world.getUID());
+        if (cells == null || cells.size == 0) {
+            return;
+        }
+        cells.collect(scratch.getX(), scratch.getY(), scratch.getZ(), radius, out);
+    }
+
+    /**
+     * Drop all indexed players and per-world buffers.
+     */
+    public void clear() {
+        worlds.clear();
+    }
+
+    private static long cellKey(int chunkX, int chunkZ) {
+        return (((chunkX + COORD_BIAS) & COORD_MASK) << (COORD_BITS + INDEX_BITS))
+                | (((chunkZ + COORD_BIAS) & COORD_MASK) << INDEX_BITS);
+    }
+
+    /**
+     * Flat, sorted arrays of the players in one world. Entries are ordered by
+     * chunk X then chunk Z, so each X column of a query is a contiguous range.
+     */
+    private static final class WorldCells {
+
+        private Player[] players = new Player[16];
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private double[] zs = new double[16];
+        private long[] keys = new long[16];
+        private int size;
+
+        void clear() {
+            Arrays.fill(players, 0, size, null);
+            size = 0;
+        }
+
+        void add(Player player, double x, double y, double z) {
+            if (size > INDEX_MASK) {
+                return;
+            }
+            if (size == players.length) {
+                int capacity = players.length * 2;
+                players = Arrays.copyOf(players, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                zs = Arrays.copyOf(zs, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+            }
+            players[size] = player;
+            xs[size] = x;
+            ys[size] = y;
+            zs[size] = z;
+            keys[size] = cellKey(Location.locToBlock(x) >> CHUNK_SHIFT, Location.locToBlock(z) >> CHUNK_SHIFT) | size;
+            size++;
+        }
+
+        void sort() {
+            Arrays.sort(keys, 0, size);
+        }
+
+        void collect(double x, double y, double z, double radius, List<Player> out) {
+            double radiusSquared = radius * radius;
+            int minChunkX = Location.locToBlock(x - radius) >> CHUNK_SHIFT;
+            int maxChunkX = Location.locToBlock(x + radius) >> CHUNK_SHIFT;
+            int minChunkZ = Location.locToBlock(z - radius) >> CHUNK_SHIFT;
+            int maxChunkZ = Location.locToBlock(z + radius) >> CHUNK_SHIFT;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                long lower = cellKey(chunkX, minChunkZ);
+                long upper = cellKey(chunkX, maxChunkZ) | INDEX_MASK;
+
+                for (int i = lowerBound(lower); i < size && keys[i] <= upper; i++) {
+                    int index = (int) (keys[i] & INDEX_MASK);
+                    double dx = xs[index] - x;
+                    double dy = ys[index] - y;
+                    double dz = zs[index] - z;
+                    if (dx * dx + dy * dy + dz * dz < radiusSquared) {
+                        out.add(players[index]);
+                    }
+                }
+            }
+        }
+
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dev.th0rgal.skinmotion.bukkit.commands;
 
 import dev.th0rgal.skinmotion.bukkit.SkinMotionPlugin;
+import dev.th0rgal.skinmotion.bukkit.animation.AnimationGovernor;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.command.Command;
@@ -47,6 +48,7 @@ public class SkinCommand implements CommandExecutor, TabCompleter {
             case "refresh" -> handleRefresh(player);
             case "status" -> handleStatus(player);
             case "reload" -> handleReload(player);
+            case "stats" -> handleStats(player);
             default -> showHelp(player);
         }
 
@@ -82,28 +84,33 @@ public class SkinCommand implements CommandExecutor, TabCompleter {
         }
         boolean wsConnected = plugin.isWebSocketConnected();
         var skinConfig = plugin.getPlayerSkinConfig(player.getUniqueId());
-        boolean hasPersisted = plugin.hasPersistedSkin(player.getUniqueId());
 
-        plugin.getAudiences().player(player).sendMessage(
-                Component.text()
-                        .append(Component.text("SkinMotion Status", NamedTextColor.GREEN))
-                        .append(Component.newline())
-                        .append(Component.text("WebSocket: ", NamedTextColor.GRAY))
-                        .append(wsConnected
-                                ? Component.text("Connected ✓", NamedTextColor.GREEN)
-                                : Component.text("Disconnected ✗", NamedTextColor.RED))
-                        .append(Component.newline())
-                        .append(Component.text("SkinMotion: ", NamedTextColor.GRAY))
-                        .append(skinConfig != null
-                                ? Component.text("Active (" + skinConfig.getFrameCount() + " frames)", NamedTextColor.GREEN)
-                                : Component.text("None", NamedTextColor.YELLOW))
-                        .append(Component.newline())
-                        .append(Component.text("Persisted: ", NamedTextColor.GRAY))
-                        .append(hasPersisted
-                                ? Component.text("Yes ✓", NamedTextColor.GREEN)
-                                : Component.text("No", NamedTextColor.YELLOW))
-                        .build()
-        );
+        plugin.hasPersistedSkin(player.getUniqueId())
+                .exceptionally(e -> false)
+                .thenAccept(hasPersisted -> plugin.getPlatformScheduler().runForEntity(player, () -> {
+                    if (!player.isOnline()) return;
+
+                    plugin.getAudiences().player(player).sendMessage(
+                            Component.text()
+                                    .append(Component.text("SkinMotion Status", NamedTextColor.GREEN))
+                                    .append(Component.newline())
+                                    .append(Component.text("WebSocket: ", NamedTextColor.GRAY))
+                                    .append(wsConnected
+                                            ? Component.text("Connected ✓", NamedTextColor.GREEN)
+                                            : Component.text("Disconnected ✗", NamedTextColor.RED))
+                                    .append(Component.newline())
+                                    .append(Component.text("SkinMotion: ", NamedTextColor.GRAY))
+                                    .append(skinConfig != null
+                                            ? Component.text("Active (" + skinConfig.getFrameCount() + " frames)", NamedTextColor.GREEN)
+                                            : Component.text("None", NamedTextColor.YELLOW))
+                                    .append(Component.newline())
+                                    .append(Component.text("Persisted: ", NamedTextColor.GRAY))
+                                    .append(hasPersisted
+                                            ? Component.text("Yes ✓", NamedTextColor.GREEN)
+                                            : Component.text("No", NamedTextColor.YELLOW))
+                                    .build()
+                    );
+                }));
     }
 
     private void handleReload(Player player) {
@@ -118,6 +125,63 @@ public class SkinCommand implements CommandExecutor, TabCompleter {
         );
     }
 
+    private void handleStats(Player player) {
+        if (!player.hasPermission("skinmotion.stats")) {
+            sendNoPermission(player);
+            return;
+        }
+
+        var cache = plugin.getRecentSkinCache();
+        var builder = Component.text()
+                .append(Component.text("SkinMotion Stats", NamedTextColor.GREEN))
+                .append(Component.newline())
+                .append(Component.text("Skin cache: ", NamedTextColor.GRAY))
+                .append(Component.text(cache.size() + "/" + cache.getMaxSize() + " entries, "
+                        + cache.getHits() + " hits, " + cache.getMisses() + " misses ("
+                        + String.format("%.1f", cache.getHitRate() * 100) + "%)", NamedTextColor.WHITE));
+
+        var animationTask = plugin.getAnimationTask();
+        if (animationTask != null) {
+            var work = animationTask.getWorkStats();
+            var average = work.getAverage();
+            var peak = work.getPeak();
+            builder.append(Component.newline())
+                    .append(Component.text("Animated skins: ", NamedTextColor.GRAY))
+                    .append(Component.text(String.valueOf(animationTask.getAnimatedCount()), NamedTextColor.WHITE))
+                    .append(Component.newline())
+                    .append(Component.text("Frames/tick: ", NamedTextColor.GRAY))
+                    .append(Component.text(String.format("%.2f avg, %.0f peak",
+                            average.transitions(), peak.transitions()), NamedTextColor.WHITE))
+                    .append(Component.newline())
+                    .append(Component.text("Viewer updates/tick: ", NamedTextColor.GRAY))
+                    .append(Component.text(String.format("%.2f avg, %.0f peak",
+                            average.viewerUpdates(), peak.viewerUpdates()), NamedTextColor.WHITE))
+                    .append(Component.newline())
+                    .append(Component.text("Tick time: ", NamedTextColor.GRAY))
+                    .append(Component.text(String.format("%.3f ms avg, %.3f ms peak",
+                            average.millis(), peak.millis()), NamedTextColor.WHITE));
+
+            var dispatcher = animationTask.getUpdateQueueStats();
+            builder.append(Component.newline())
+                    .append(Component.text("Update queue: ", NamedTextColor.GRAY))
+                    .append(Component.text(dispatcher.getQueueDepth() + " queued, "
+                            + dispatcher.getDeferredCount() + " deferred, "
+                            + dispatcher.getDroppedCount() + " dropped", NamedTextColor.WHITE));
+
+            var governor = animationTask.getGovernor();
+            if (governor != null) {
+                builder.append(Component.newline())
+                        .append(Component.text("Governor: ", NamedTextColor.GRAY))
+                        .append(Component.text(governor.getLevel() + String.format(" (%.1f %s)", governor.getMspt(),
+                                        governor.isMeasuringOverrun() ? "ms overrun" : "MSPT"),
+                                governor.getLevel() == AnimationGovernor.Level.NORMAL
+                                        ? NamedTextColor.GREEN : NamedTextColor.YELLOW));
+            }
+        }
+
+        plugin.getAudiences().player(player).sendMessage(builder.build());
+    }
+
     private void sendNoPermission(Player player) {
         plugin.getAudiences().player(player).sendMessage(
                 Component.text("You don't have permission to use this command.", NamedTextColor.RED)
@@ -148,6 +212,11 @@ public class SkinCommand implements CommandExecutor, TabCompleter {
                     .append(Component.text("/skin reload", NamedTextColor.AQUA))
                     .append(Component.text(" - Reload plugin configuration", NamedTextColor.GRAY));
         }
+        if (player.hasPermission("skinmotion.stats")) {
+            builder.append(Component.newline())
+                    .append(Component.text("/skin stats", NamedTextColor.AQUA))
+                    .append(Component.text(" - Show cache and performance stats", NamedTextColor.GRAY));
+        }
 
         plugin.getAudiences().player(player).sendMessage(builder.build());
     }
@@ -171,6 +240,9 @@ public class SkinCommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("skinmotion.reload") && "reload".startsWith(input)) {
                 completions.add("reload");
             }
+            if (sender.hasPermission("skinmotion.stats") && "stats".startsWith(input)) {
+                completions.add("stats");
+            }
             
             return completions;
         }
@@ -0,0 +1,161 @@
+package dev.th0rgal.skinmotion.bukkit.npc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Encodes clientbound play packets to bytes once and writes those bytes
+ * straight into connection channels, so a packet sent to many viewers is not
+ * serialized again for each of them.
+ * <p>
+ * The encoded bytes are in the server's own protocol version and pass through
+ * the channel's compression and framing like any other packet. Resolved by
+ * reflection against the 1.20.2 to 1.20.4 network classes; {@link #create}
+ * fails on other versions.
+ */
+final class EncodedPacketWriter {
+
+    private final MethodHandle getNetworkConnection; // (Object listener) -> Object
+    private final MethodHandle getChannel;           // (Object connection) -> Object
+    private final Object playCodec;
+    private final MethodHandle packetId;             // (Object codec, Object packet) -> int
+    private final MethodHandle newBuffer;            // () -> Object
+    private final MethodHandle newFriendlyByteBuf;   // (Object buffer) -> Object
+    private final MethodHandle writeVarInt;          // (Object friendlyBuffer, int value) -> Object
+    private final MethodHandle serializePacket;      // (Object packet, Object friendlyBuffer) -> void
+    private final MethodHandle asReadOnly;           // (Object buffer) -> Object
+    private final MethodHandle retainedDuplicate;    // (Object buffer) -> Object
+    private final MethodHandle release;              // (Object buffer) -> boolean
+    private final MethodHandle write;                // (Object channel, Object message) -> Object
+    private final MethodHandle flush;                // (Object channel) -> Object
+    private Object bundleDelimiter;                  // encoded delimiter, null before 1.19.4
+
+    private EncodedPacketWriter(Class<?> listenerClass) throws Exception {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType objectGetter = MethodType.methodType(Object.class, Object.class);
+        String nms = "net.minecraft.network";
+
+        // Game packet listener -> network connection -> Netty channel
+        Class<?> networkConnectionClass = Class.forName(nms + ".Connection");
+        getNetworkConnection = lookup.unreflectGetter(findField(listenerClass, networkConnectionClass, null))
+                .asType(objectGetter);
+        Field channelField = findField(networkConnectionClass, null, "channel");
+        getChannel = lookup.unreflectGetter(channelField).asType(objectGetter);
+
+        Class<?> channelClass = channelField.getType();
+        ClassLoader nettyLoader = channelClass.getClassLoader();
+        Class<?> byteBufClass = Class.forName("io.netty.buffer.ByteBuf", false, nettyLoader);
+        Class<?> unpooledClass = Class.forName("io.netty.buffer.Unpooled", false, nettyLoader);
+
+        // Packet ids of the clientbound play protocol
+        Class<?> protocolClass = Class.forName(nms + ".ConnectionProtocol");
+        Class<?> flowClass = Class.forName(nms + ".protocol.PacketFlow");
+        Class<?> packetClass = Class.forName(nms + ".protocol.Packet");
+        Object play = protocolClass.getField("PLAY").get(null);
+        Object clientbound = flowClass.getField("CLIENTBOUND").get(null);
+        playCodec = protocolClass.getMethod("codec", flowClass).invoke(play, clientbound);
+        packetId = lookup.unreflect(playCodec.getClass().getMethod("packetId", packetClass))
+                .asType(MethodType.methodType(int.class, Object.class, Object.class));
+
+        // Packet body serialization
+        Class<?> friendlyByteBufClass = Class.forName(nms + ".FriendlyByteBuf");
+        newFriendlyByteBuf = lookup.unreflectConstructor(friendlyByteBufClass.getConstructor(byteBufClass))
+                .asType(objectGetter);
+        writeVarInt = lookup.unreflect(friendlyByteBufClass.getMethod("writeVarInt", int.class))
+                .asType(MethodType.methodType(Object.class, Object.class, int.class));
+        serializePacket = lookup.unreflect(packetClass.getMethod("write", friendlyByteBufClass))
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        // Netty buffers and channel writes
+        newBuffer = lookup.unreflect(unpooledClass.getMethod("buffer")).asType(MethodType.methodType(Object.class));
+        asReadOnly = lookup.unreflect(byteBufClass.getMethod("asReadOnly")).asType(objectGetter);
+        retainedDuplicate = lookup.unreflect(byteBufClass.getMethod("retainedDuplicate")).asType(objectGetter);
+        release = lookup.unreflect(byteBufClass.getMethod("release"))
+                .asType(MethodType.methodType(boolean.class, Object.class));
+        write = lookup.unreflect(channelClass.getMethod("write", Object.class))
+                .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+        flush = lookup.unreflect(channelClass.getMethod("flush")).asType(objectGetter);
+    }
+
+    /**
+     * Resolve the writer for the running server.
+     *
+     * @param listenerClass The class of a player's game packet listener
+     */
+    static EncodedPacketWriter create(Class<?> listenerClass) throws Exception {
+        EncodedPacketWriter writer = new EncodedPacketWriter(listenerClass);
+        try {
+            Object delimiter = Class.forName("net.minecraft.network.protocol.game.ClientboundBundleDelimiterPacket")
+                    .getConstructor().newInstance();
+            writer.bundleDelimiter = writer.encode(delimiter);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            // No bundles before 1.19.4
+        } catch (Throwable e) {
+            throw new Exception("Failed to encode bundle delimiter: " + e.getMessage(), e);
+        }
+        return writer;
+    }
+
+    private static Field findField(Class<?> owner, Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> c = owner; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if ((type == null || field.getType() == type) && (name == null || field.getName().equals(name))) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            }
+        }
+        throw new NoSuchFieldException((name != null ? name : type.getSimpleName()) + " in " + owner.getName());
+    }
+
+    /**
+     * Encode a packet into a read-only buffer holding its id and body.
+     * The caller owns the buffer and must {@link #release} it.
+     */
+    Object encode(Object packet) throws Throwable {
+        Object buffer = (Object) newBuffer.invokeExact();
+        Object friendlyBuffer = (Object) newFriendlyByteBuf.invokeExact(buffer);
+        Object ignored = (Object) writeVarInt.invokeExact(friendlyBuffer, (int) packetId.invokeExact(playCodec, packet));
+        serializePacket.invokeExact(packet, friendlyBuffer);
+        return (Object) asReadOnly.invokeExact(buffer);
+    }
+
+    void release(Object encoded) throws Throwable {
+        boolean ignored = (boolean) release.invokeExact(encoded);
+    }
+
+    /**
+     * Get the Netty channel behind a player's game packet listener.
+     */
+    Object channelOf(Object listener) throws Throwable {
+        return (Object) getChannel.invokeExact((Object) getNetworkConnection.invokeExact(listener));
+    }
+
+    boolean supportsBundles() {
+        return bundleDelimiter != null;
+    }
+
+    void writeBundleDelimiter(Object channel) throws Throwable {
+        writeEncoded(channel, bundleDelimiter);
+    }
+
+    /**
+     * Queue an encoded packet on a channel. The buffer stays owned by the caller.
+     */
+    void writeEncoded(Object channel, Object encoded) throws Throwable {
+        Object ignored = (Object) write.invokeExact(channel, (Object) retainedDuplicate.invokeExact(encoded));
+    }
+
+    /**
+     * Queue a packet object on a channel, to be encoded by the channel itself.
+     */
+    void writePacket(Object channel, Object packet) throws Throwable {
+        Object ignored = (Object) write.invokeExact(channel, packet);
+    }
+
+    void flush(Object channel) throws Throwable {
+        Object ignored = (Object) flush.invokeExact(channel);
+    }
+}
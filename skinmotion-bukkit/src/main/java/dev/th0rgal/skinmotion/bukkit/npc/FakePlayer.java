@@ -1,15 +1,26 @@
 package dev.th0rgal.skinmotion.bukkit.npc;
 
+import dev.th0rgal.skinmotion.bukkit.SkinMotionPlugin;
+import dev.th0rgal.skinmotion.bukkit.scheduler.TimingWheel;
 import dev.th0rgal.skinmotion.core.model.SkinProperty;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * A fake player (NPC) that uses raw packet sending via reflection.
@@ -19,6 +30,9 @@ public class FakePlayer {
 
     private static final Random RANDOM = new Random();
 
+    // Delay before a skin update's tablist entry is removed again
+    private static final long INFO_REMOVE_DELAY_TICKS = 2L;
+
     private final int entityId;
     private final UUID uuid;
     private final String name;
@@ -48,15 +62,11 @@ public class FakePlayer {
     private static Class<?> gameTypeClass;
     private static Class<?> setEntityDataPacketClass;
     private static Class<?> synchedEntityDataClass;
-    private static Class<?> dataValueClass;
-    private static Class<?> entityDataSerializerClass;
-    private static Object byteSerializer;
     
     // Methods
     private static Method getHandleMethod;
     private static Method sendMethod;
     private static Method getPropertiesMethod;
-    private static Method propertyMapPutMethod;
     
     // Fields
     private static Field connectionField;
@@ -64,15 +74,20 @@ public class FakePlayer {
     private static Object vec3Zero;
     private static Object survivalGameType;
 
+    // Writes pre-encoded skin updates straight to channels, null unless enabled and supported
+    private static volatile EncodedPacketWriter encodedWriter;
+
     static {
         try {
             initReflection();
+            MethodHandles.lookup().ensureInitialized(Handles.class);
             initialized = true;
             Bukkit.getLogger().info("[FakePlayer] Reflection initialized successfully");
-        } catch (Exception e) {
-            initError = e.getMessage();
-            Bukkit.getLogger().severe("[FakePlayer] Failed to initialize: " + e.getMessage());
-            e.printStackTrace();
+        } catch (Exception | ExceptionInInitializerError e) {
+            Throwable cause = e instanceof ExceptionInInitializerError && e.getCause() != null ? e.getCause() : e;
+            initError = cause.getMessage();
+            Bukkit.getLogger().severe("[FakePlayer] Failed to initialize: " + cause.getMessage());
+            cause.printStackTrace();
         }
     }
 
@@ -131,81 +146,9 @@ public class FakePlayer {
         actionEnumClass = Class.forName(nms + ".network.protocol.game.ClientboundPlayerInfoUpdatePacket$Action");
         entryRecordClass = Class.forName(nms + ".network.protocol.game.ClientboundPlayerInfoUpdatePacket$Entry");
         
-        // Metadata packet classes for skin layers
+        // Entity metadata, resent with the player's current values after a respawn
         setEntityDataPacketClass = Class.forName(nms + ".network.protocol.game.ClientboundSetEntityDataPacket");
         synchedEntityDataClass = Class.forName(nms + ".network.syncher.SynchedEntityData");
-        
-        // Try to find DataValue class (1.19.3+) or fallback to DataItem
-        try {
-            dataValueClass = Class.forName(nms + ".network.syncher.SynchedEntityData$DataValue");
-        } catch (ClassNotFoundException e) {
-            // Older versions use DataItem
-            dataValueClass = Class.forName(nms + ".network.syncher.SynchedEntityData$DataItem");
-        }
-        
-        // Get BYTE serializer
-        entityDataSerializerClass = Class.forName(nms + ".network.syncher.EntityDataSerializers");
-        byteSerializer = entityDataSerializerClass.getField("BYTE").get(null);
-    }
-    
-    /**
-     * Send displayed skin parts metadata packet.
-     * This makes all skin overlay layers (hat, jacket, sleeves, pants) visible.
-     * 
-     * @param connection The player's network connection
-     * @param entityId The entity ID to update
-     */
-    private static void sendDisplayedSkinPartsPacket(Object connection, int entityId) {
-        try {
-            // Displayed Skin Parts byte: 0x7F = all parts visible
-            // Bit 0 (0x01): Cape
-            // Bit 1 (0x02): Jacket
-            // Bit 2 (0x04): Left Sleeve
-            // Bit 3 (0x08): Right Sleeve
-            // Bit 4 (0x10): Left Pants Leg
-            // Bit 5 (0x20): Right Pants Leg
-            // Bit 6 (0x40): Hat
-            byte displayedParts = 0x7F; // All parts visible
-            
-            // Player entity metadata index for displayed skin parts is 17 in 1.20.x
-            int skinPartsIndex = 17;
-            
-            // Create DataValue for the skin parts
-            // DataValue.create(EntityDataAccessor, value) or new DataValue(id, serializer, value)
-            Object dataValue = null;
-            
-            for (Constructor<?> ctor : dataValueClass.getDeclaredConstructors()) {
-                Class<?>[] params = ctor.getParameterTypes();
-                if (params.length == 3 && params[0] == int.class) {
-                    // Constructor: DataValue(int id, EntityDataSerializer serializer, Object value)
-                    ctor.setAccessible(true);
-                    dataValue = ctor.newInstance(skinPartsIndex, byteSerializer, displayedParts);
-                    break;
-                }
-            }
-            
-            if (dataValue == null) {
-                // Try alternative: use pack() method
-                Method packMethod = dataValueClass.getMethod("pack", int.class, Object.class, Object.class);
-                dataValue = packMethod.invoke(null, skinPartsIndex, byteSerializer, displayedParts);
-            }
-            
-            // Create the metadata packet
-            // ClientboundSetEntityDataPacket(int entityId, List<DataValue> packedItems)
-            for (Constructor<?> ctor : setEntityDataPacketClass.getDeclaredConstructors()) {
-                Class<?>[] params = ctor.getParameterTypes();
-                if (params.length == 2 && params[0] == int.class && params[1] == List.class) {
-                    ctor.setAccessible(true);
-                    Object packet = ctor.newInstance(entityId, List.of(dataValue));
-                    sendMethod.invoke(connection, packet);
-                    return;
-                }
-            }
-            
-            Bukkit.getLogger().warning("[FakePlayer] Could not create metadata packet - skin layers may not show");
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("[FakePlayer] Failed to send skin parts metadata: " + e.getMessage());
-        }
     }
 
     public FakePlayer(@NotNull Location location, @NotNull SkinProperty skin) {
@@ -272,11 +215,7 @@ public class FakePlayer {
             }
 
             // Remove from tablist after delay (keep longer so skin loads)
-            Bukkit.getScheduler().runTaskLater(
-                Bukkit.getPluginManager().getPlugin("SkinMotion"),
-                () -> removeFromTablist(viewer),
-                40L // 2 seconds to let skin load
-            );
+            tablistRemovals().removeFromTablist(viewer, uuid, 40L); // 2 seconds to let skin load
 
         } catch (Exception e) {
             Bukkit.getLogger().severe("[FakePlayer] Failed to spawn: " + e.getMessage());
@@ -417,20 +356,6 @@ public class FakePlayer {
         return null;
     }
 
-    private void removeFromTablist(Player viewer) {
-        if (!viewer.isOnline()) return;
-        try {
-            Object handle = getHandleMethod.invoke(viewer);
-            Object connection = connectionField.get(handle);
-
-            Constructor<?> ctor = playerInfoRemovePacketClass.getConstructor(List.class);
-            Object packet = ctor.newInstance(List.of(uuid));
-            sendMethod.invoke(connection, packet);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
     public void despawn(@NotNull Player viewer) {
         if (!viewers.remove(viewer)) return;
         try {
@@ -496,15 +421,7 @@ public class FakePlayer {
                 }
 
                 // 5. Remove from tablist quickly (skin should already be cached)
-                Bukkit.getScheduler().runTaskLater(
-                    Bukkit.getPluginManager().getPlugin("SkinMotion"),
-                    () -> {
-                        if (viewer.isOnline()) {
-                            removeFromTablist(viewer);
-                        }
-                    },
-                    2L // Very quick - skin is already cached client-side
-                );
+                tablistRemovals().removeFromTablist(viewer, uuid, 2L); // Very quick - skin is already cached client-side
 
             } catch (Exception e) {
                 Bukkit.getLogger().warning("[FakePlayer] Failed to update skin: " + e.getMessage());
@@ -527,141 +444,683 @@ public class FakePlayer {
      * @param skin   The new skin to display
      */
     public static void sendSkinUpdatePacket(@NotNull Player viewer, @NotNull Player target, @NotNull SkinProperty skin) {
-        if (!initialized) {
-            throw new RuntimeException("FakePlayer reflection not initialized: " + initError);
+        sendSkinUpdatePacket(List.of(viewer), target, skin);
+    }
+
+    /**
+     * Send a skin update for a real player to several viewers at once.
+     * The packet set is built once and the same instances are written to every viewer.
+     *
+     * @param viewers The players who will see the updated skin
+     * @param target  The player whose skin is being updated
+     * @param skin    The new skin to display
+     */
+    public static void sendSkinUpdatePacket(@NotNull Collection<? extends Player> viewers, @NotNull Player target,
+                                            @NotNull SkinProperty skin) {
+        if (viewers.isEmpty()) {
+            return;
+        }
+        SkinUpdate update = createSkinUpdate(target, skin);
+        if (update == null) {
+            return;
         }
 
+        Map<Player, List<SkinUpdate>> updatesByViewer = new LinkedHashMap<>();
+        for (Player viewer : viewers) {
+            updatesByViewer.put(viewer, List.of(update));
+        }
+        sendSkinUpdates(updatesByViewer);
+    }
+
+    /**
+     * Check if the packet reflection works on this server.
+     */
+    public static boolean isAvailable() {
+        return initialized;
+    }
+
+    /**
+     * Enable or disable pre-encoding of skin updates. When enabled, the
+     * tablist packet carrying a frame's textures is encoded once per update
+     * and its bytes are written to every viewer's channel, instead of each
+     * connection serializing the same packet again. Stays disabled on
+     * unsupported versions and next to plugins that rewrite packets per
+     * connection, which the raw bytes would bypass.
+     *
+     * @return Whether pre-encoding is now active
+     */
+    public static boolean setPreEncoding(boolean enabled) {
+        if (!enabled || !initialized) {
+            encodedWriter = null;
+            return false;
+        }
+        if (encodedWriter != null) {
+            return true;
+        }
+
+        for (String pluginName : List.of("ViaVersion", "ProtocolLib", "packetevents")) {
+            if (Bukkit.getPluginManager().getPlugin(pluginName) != null) {
+                Bukkit.getLogger().info("[FakePlayer] Packet pre-encoding disabled: " + pluginName + " is installed");
+                return false;
+            }
+        }
         try {
-            Object viewerHandle = getHandleMethod.invoke(viewer);
-            Object viewerConnection = connectionField.get(viewerHandle);
+            encodedWriter = EncodedPacketWriter.create(connectionClass);
+            Bukkit.getLogger().info("[FakePlayer] Packet pre-encoding enabled");
+            return true;
+        } catch (Exception e) {
+            Bukkit.getLogger().warning("[FakePlayer] Packet pre-encoding unsupported on this server: " + e.getMessage());
+            return false;
+        }
+    }
 
-            Object targetHandle = getHandleMethod.invoke(target);
-            int targetEntityId = (int) targetHandle.getClass().getMethod("getId").invoke(targetHandle);
+    /**
+     * Capture a skin update for a real player, to be sent with
+     * {@link #sendSkinUpdates(Map)}. Only the target's state is read here;
+     * the packets are built later by whichever thread first sends the update.
+     * Updates the textures on the target's game profile as a side effect, so
+     * later spawns of the target show the new skin. Must be called from the
+     * thread owning the target.
+     *
+     * @param target The player whose skin is being updated
+     * @param skin   The new skin to display
+     * @return The update, or null if the target's state could not be read
+     */
+    @Nullable
+    public static SkinUpdate createSkinUpdate(@NotNull Player target, @NotNull SkinProperty skin) {
+        return createSkinUpdate(target, skin, false);
+    }
 
-            // Get target's GameProfile and update textures
-            Object targetGameProfile = targetHandle.getClass().getMethod("getGameProfile").invoke(targetHandle);
-            Object properties = getPropertiesMethod.invoke(targetGameProfile);
+    /**
+     * Capture a one-off skin refresh for a real player, sent like
+     * {@link #createSkinUpdate}, but re-adding the full tablist entry (game
+     * mode, latency, display name, chat session, listed) and leaving it in the
+     * viewers' tablist afterwards. Must be called from the thread owning the
+     * target.
+     *
+     * @param target The player whose skin changed
+     * @param skin   The player's new skin
+     * @return The update, or null if the target's state could not be read
+     */
+    @Nullable
+    public static SkinUpdate createSkinRefresh(@NotNull Player target, @NotNull SkinProperty skin) {
+        return createSkinUpdate(target, skin, true);
+    }
 
-            // Remove existing textures
-            Method removeAllMethod = properties.getClass().getMethod("removeAll", Object.class);
-            removeAllMethod.invoke(properties, "textures");
+    @Nullable
+    private static SkinUpdate createSkinUpdate(Player target, SkinProperty skin, boolean keepListed) {
+        if (!initialized) {
+            throw new RuntimeException("FakePlayer reflection not initialized: " + initError);
+        }
+        try {
+            return new SkinUpdate(target, skin, encodedWriter, keepListed);
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("[FakePlayer] Failed to build skin update: " + e.getMessage());
+            return null;
+        }
+    }
 
-            // Add new texture property
-            Constructor<?> propCtor = propertyClass.getConstructor(String.class, String.class, String.class);
-            Object textureProperty = propCtor.newInstance("textures", skin.getValue(), skin.getSignature());
-            Method putMethod = properties.getClass().getMethod("put", Object.class, Object.class);
-            putMethod.invoke(properties, "textures", textureProperty);
+    /**
+     * Send skin updates, each viewer receiving all of its updates in a single
+     * bundle where the server supports bundles. The client then swaps every
+     * skin in the same frame instead of showing the player despawned between
+     * packets.
+     * <p>
+     * Packets are built and written on each viewer's Netty event loop, so only
+     * the hand-off runs on the calling thread. Where the event loop can't be
+     * resolved they are sent on the calling thread instead. Must be called
+     * from the thread owning the viewers.
+     *
+     * @param updatesByViewer The updates to send to each viewer, in order
+     */
+    public static void sendSkinUpdates(@NotNull Map<Player, List<SkinUpdate>> updatesByViewer) {
+        if (!initialized) {
+            throw new RuntimeException("FakePlayer reflection not initialized: " + initError);
+        }
 
-            // Remove entity from viewer's client
-            Constructor<?> removeEntityCtor = removeEntitiesPacketClass.getConstructor(int[].class);
-            Object removeEntityPacket = removeEntityCtor.newInstance((Object) new int[]{targetEntityId});
-            sendMethod.invoke(viewerConnection, removeEntityPacket);
+        // Count every use before any event loop can finish one and release shared bytes
+        for (List<SkinUpdate> updates : updatesByViewer.values()) {
+            for (SkinUpdate update : updates) {
+                update.users.incrementAndGet();
+            }
+        }
 
-            // Remove from tablist
-            Constructor<?> infoRemoveCtor = playerInfoRemovePacketClass.getConstructor(List.class);
-            Object infoRemovePacket = infoRemoveCtor.newInstance(List.of(target.getUniqueId()));
-            sendMethod.invoke(viewerConnection, infoRemovePacket);
-
-            // Re-add to tablist with new skin (using UPDATE_GAME_MODE action to refresh)
-            // Create the player info entry with updated skin
-            Object addPlayerAction = Enum.valueOf((Class<Enum>) actionEnumClass, "ADD_PLAYER");
-            EnumSet<?> actions = EnumSet.of((Enum) addPlayerAction);
-
-            // Build Entry record
-            Constructor<?> entryCtor = null;
-            for (Constructor<?> ctor : entryRecordClass.getDeclaredConstructors()) {
-                if (ctor.getParameterCount() >= 6) {
-                    entryCtor = ctor;
-                    break;
+        for (Map.Entry<Player, List<SkinUpdate>> entry : updatesByViewer.entrySet()) {
+            Player viewer = entry.getKey();
+            List<SkinUpdate> updates = List.copyOf(entry.getValue());
+            Object viewerConnection;
+            ScheduledExecutorService eventLoop;
+            try {
+                viewerConnection = connectionOf(viewer);
+                eventLoop = eventLoopOf(viewerConnection);
+            } catch (Throwable e) {
+                Bukkit.getLogger().warning("[FakePlayer] Failed to send skin update to " + viewer.getName() + ": " + e.getMessage());
+                for (SkinUpdate update : updates) {
+                    update.releaseUse();
                 }
+                continue;
             }
 
-            if (entryCtor != null) {
-                entryCtor.setAccessible(true);
-                Object[] args = new Object[entryCtor.getParameterCount()];
-                Class<?>[] paramTypes = entryCtor.getParameterTypes();
-                
-                for (int i = 0; i < paramTypes.length; i++) {
-                    if (paramTypes[i] == UUID.class) {
-                        args[i] = target.getUniqueId();
-                    } else if (paramTypes[i] == targetGameProfile.getClass() || paramTypes[i].getSimpleName().equals("GameProfile")) {
-                        args[i] = targetGameProfile;
-                    } else if (paramTypes[i] == boolean.class) {
-                        args[i] = true; // listed
-                    } else if (paramTypes[i] == int.class) {
-                        args[i] = target.getPing(); // latency
-                    } else if (paramTypes[i] == gameTypeClass) {
-                        args[i] = survivalGameType;
-                    } else {
-                        args[i] = null;
+            String viewerName = viewer.getName();
+            if (eventLoop != null) {
+                try {
+                    eventLoop.execute(() -> writeSkinUpdates(viewerConnection, viewerName, updates));
+                } catch (RejectedExecutionException e) {
+                    // The event loop is shutting down with the connection; nothing was sent
+                    for (SkinUpdate update : updates) {
+                        update.releaseUse();
                     }
+                    continue;
+                }
+            } else {
+                writeSkinUpdates(viewerConnection, viewerName, updates);
+            }
+
+            // Remove from tablist after short delay, batched with the viewer's other removals
+            for (SkinUpdate update : updates) {
+                if (!update.keepListed) {
+                    tablistRemovals().removeFromTablist(viewer, update.targetId, INFO_REMOVE_DELAY_TICKS);
                 }
+            }
+        }
+    }
 
-                Object entry = entryCtor.newInstance(args);
+    /**
+     * Build and write one viewer's updates.
+     */
+    private static void writeSkinUpdates(Object connection, String viewerName, List<SkinUpdate> updates) {
+        try {
+            for (SkinUpdate update : updates) {
+                update.build();
+            }
 
-                // Create packet with entries
-                for (Constructor<?> packetCtor : playerInfoPacketClass.getDeclaredConstructors()) {
-                    Class<?>[] params = packetCtor.getParameterTypes();
-                    if (params.length == 2 && params[0] == EnumSet.class && params[1] == List.class) {
-                        packetCtor.setAccessible(true);
-                        Object infoPacket = packetCtor.newInstance(actions, List.of(entry));
-                        sendMethod.invoke(viewerConnection, infoPacket);
-                        break;
+            SkinUpdate first = updates.get(0);
+            if (first.writer != null) {
+                sendEncoded(first.writer, connection, updates);
+            } else if (updates.size() == 1) {
+                // Shared bundle built with the update
+                sendAll(connection, first.packets, first.bundle);
+            } else {
+                List<Object> packets = new ArrayList<>();
+                for (SkinUpdate update : updates) {
+                    packets.addAll(update.packets);
+                }
+                sendAll(connection, packets, null);
+            }
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("[FakePlayer] Failed to send skin update to " + viewerName + ": " + e.getMessage());
+        } finally {
+            for (SkinUpdate update : updates) {
+                update.releaseUse();
+            }
+        }
+    }
+
+    /**
+     * Remove players from a viewer's tablist with a single packet.
+     * Safe to call from any thread.
+     */
+    public static void sendTablistRemoval(@NotNull Player viewer, @NotNull List<UUID> playerIds) {
+        if (!initialized) {
+            return;
+        }
+        try {
+            Object packet = (Object) Handles.NEW_INFO_REMOVE_PACKET.invokeExact((List) List.copyOf(playerIds));
+            Handles.SEND.invokeExact(connectionOf(viewer), packet);
+        } catch (Throwable e) {
+            Bukkit.getLogger().warning("[FakePlayer] Failed to remove tablist entries for " + viewer.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write a viewer's updates straight to its channel, pre-encoded packets as
+     * bytes and the rest as packet objects, between bundle delimiters when
+     * bundles are supported.
+     */
+    private static void sendEncoded(EncodedPacketWriter writer, Object connection, List<SkinUpdate> updates)
+            throws Throwable {
+        Object channel = writer.channelOf(connection);
+        boolean bundled = writer.supportsBundles();
+        if (bundled) {
+            writer.writeBundleDelimiter(channel);
+        }
+        for (SkinUpdate update : updates) {
+            for (int i = 0; i < update.packets.size(); i++) {
+                Object encoded = update.encoded != null ? update.encoded[i] : null;
+                if (encoded != null) {
+                    writer.writeEncoded(channel, encoded);
+                } else {
+                    writer.writePacket(channel, update.packets.get(i));
+                }
+            }
+        }
+        if (bundled) {
+            writer.writeBundleDelimiter(channel);
+        }
+        writer.flush(channel);
+    }
+
+    /**
+     * Write packets to a connection, as one bundle when bundles are supported.
+     *
+     * @param bundle A bundle already built from the packets, or null to build one
+     */
+    private static void sendAll(Object connection, List<Object> packets, @Nullable Object bundle) throws Throwable {
+        if (Handles.NEW_BUNDLE_PACKET != null && packets.size() > 1) {
+            if (bundle == null) {
+                bundle = (Object) Handles.NEW_BUNDLE_PACKET.invokeExact((Iterable) packets);
+            }
+            Handles.SEND.invokeExact(connection, bundle);
+            return;
+        }
+        for (Object packet : packets) {
+            Handles.SEND.invokeExact(connection, packet);
+        }
+    }
+
+    /**
+     * Build the packets that respawn a target with a new skin, in send order:
+     * remove entity, tablist remove, tablist add, add entity, entity metadata.
+     */
+    private static List<Object> createSkinUpdatePackets(SkinUpdate update) throws Throwable {
+        List<Object> packets = new ArrayList<>(5);
+
+        // Remove entity from viewer's client
+        packets.add((Object) Handles.NEW_REMOVE_ENTITIES_PACKET.invokeExact(new int[]{update.entityId}));
+
+        // Remove from tablist
+        packets.add(createInfoRemovePacket(update.targetId));
+
+        // Re-add to tablist with new skin, a refresh with every action a joining player gets
+        if (update.infoEntry != null) {
+            EnumSet<?> actions = update.keepListed ? Handles.INITIALIZE_ACTIONS : Handles.ADD_PLAYER_ACTIONS;
+            packets.add((Object) Handles.NEW_INFO_UPDATE_PACKET.invokeExact(actions, (List) List.of(update.infoEntry)));
+        }
+
+        // Re-spawn the entity at its position when the update was captured
+        if (Handles.NEW_ADD_ENTITY_PACKET != null) {
+            packets.add((Object) Handles.NEW_ADD_ENTITY_PACKET.invokeExact(
+                update.entityId,
+                update.targetId,
+                update.x,
+                update.y,
+                update.z,
+                update.xRot,
+                update.yRot,
+                playerEntityType,
+                0,
+                vec3Zero,
+                (double) update.yRot
+            ));
+        }
+
+        // The respawned entity starts from defaults, so resend the metadata that differs (skin layers, pose, ...)
+        if (update.entityData != null && Handles.NEW_SET_ENTITY_DATA_PACKET != null) {
+            packets.add((Object) Handles.NEW_SET_ENTITY_DATA_PACKET.invokeExact(update.entityId, update.entityData));
+        }
+
+        return packets;
+    }
+
+    private static TimingWheel tablistRemovals() {
+        return SkinMotionPlugin.get().getTimingWheel();
+    }
+
+    private static Object connectionOf(Player player) throws Throwable {
+        return (Object) Handles.GET_CONNECTION.invokeExact((Object) Handles.GET_HANDLE.invokeExact((Object) player));
+    }
+
+    @Nullable
+    private static ScheduledExecutorService eventLoopOf(Object connection) throws Throwable {
+        if (Handles.GET_EVENT_LOOP == null) {
+            return null;
+        }
+        Object channel = (Object) Handles.GET_CHANNEL.invokeExact((Object) Handles.GET_NETWORK_CONNECTION.invokeExact(connection));
+        return (ScheduledExecutorService) (Object) Handles.GET_EVENT_LOOP.invokeExact(channel);
+    }
+
+    private static Object createInfoRemovePacket(UUID playerId) throws Throwable {
+        return (Object) Handles.NEW_INFO_REMOVE_PACKET.invokeExact((List) List.of(playerId));
+    }
+
+    /**
+     * Method handles for the skin update path. Held in static finals so the
+     * JIT treats them as constants and can inline through {@code invokeExact}.
+     * Initialized once from the classes found by {@link #initReflection()};
+     * if a required member is missing, initialization fails and FakePlayer
+     * stays unavailable. Handles documented as nullable are optional.
+     */
+    private static final class Handles {
+        static final MethodHandle GET_HANDLE;                  // (Object player) -> Object
+        static final MethodHandle GET_CONNECTION;              // (Object serverPlayer) -> Object
+        static final MethodHandle SEND;                        // (Object connection, Object packet) -> void
+        static final MethodHandle GET_ENTITY_ID;               // (Object entity) -> int
+        static final MethodHandle GET_GAME_PROFILE;            // (Object serverPlayer) -> Object
+        static final MethodHandle GET_PROPERTIES;              // (Object gameProfile) -> Object
+        static final MethodHandle PROPERTY_MAP_REMOVE_ALL;     // (Object map, Object key) -> void
+        static final MethodHandle PROPERTY_MAP_PUT;            // (Object map, Object key, Object value) -> void
+        static final MethodHandle NEW_PROPERTY;                // (String name, String value, String signature) -> Object
+        static final MethodHandle NEW_GAME_PROFILE;            // (UUID id, String name) -> Object
+        static final MethodHandle NEW_REMOVE_ENTITIES_PACKET;  // (int[] ids) -> Object
+        static final MethodHandle NEW_INFO_REMOVE_PACKET;      // (List uuids) -> Object
+        static final MethodHandle NEW_INFO_ENTRY;              // (Object[] components) -> Object, null if unavailable
+        static final MethodHandle NEW_PLAYER_INFO_ENTRY;       // (Object serverPlayer) -> Object, null if unavailable
+        static final MethodHandle[] INFO_ENTRY_COMPONENTS;     // (Object entry) -> Object each, null if unavailable
+        static final int INFO_ENTRY_PROFILE_INDEX;             // component holding the game profile
+        static final MethodHandle NEW_INFO_UPDATE_PACKET;      // (EnumSet actions, List entries) -> Object, null if unavailable
+        static final MethodHandle NEW_ADD_ENTITY_PACKET;       // (id, uuid, x, y, z, pitch, yaw, type, data, velocity, headYaw) -> Object, null if unavailable
+        static final MethodHandle NEW_SET_ENTITY_DATA_PACKET;  // (int id, List values) -> Object, null if unavailable
+        static final MethodHandle GET_NON_DEFAULT_DATA;        // (Object entity) -> List, null if unavailable
+        static final MethodHandle NEW_BUNDLE_PACKET;           // (Iterable packets) -> Object, null before 1.19.4
+        static final MethodHandle GET_NETWORK_CONNECTION;      // (Object connection) -> Object, null if unavailable
+        static final MethodHandle GET_CHANNEL;                 // (Object networkConnection) -> Object, null if unavailable
+        static final MethodHandle GET_EVENT_LOOP;              // (Object channel) -> Object, null if unavailable
+        static final MethodHandle GET_X;                       // (Object entity) -> double
+        static final MethodHandle GET_Y;
+        static final MethodHandle GET_Z;
+        static final MethodHandle GET_X_ROT;                   // (Object entity) -> float
+        static final MethodHandle GET_Y_ROT;
+        static final EnumSet<?> ADD_PLAYER_ACTIONS;
+        static final EnumSet<?> INITIALIZE_ACTIONS;            // every action, as sent for a joining player
+
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType objectGetter = MethodType.methodType(Object.class, Object.class);
+            try {
+                GET_HANDLE = lookup.unreflect(getHandleMethod).asType(objectGetter);
+                GET_CONNECTION = lookup.unreflectGetter(connectionField).asType(objectGetter);
+                SEND = lookup.unreflect(sendMethod).asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+                GET_ENTITY_ID = lookup.unreflect(serverPlayerClass.getMethod("getId"))
+                        .asType(MethodType.methodType(int.class, Object.class));
+                GET_GAME_PROFILE = lookup.unreflect(serverPlayerClass.getMethod("getGameProfile")).asType(objectGetter);
+                GET_X = lookup.unreflect(serverPlayerClass.getMethod("getX")).asType(MethodType.methodType(double.class, Object.class));
+                GET_Y = lookup.unreflect(serverPlayerClass.getMethod("getY")).asType(MethodType.methodType(double.class, Object.class));
+                GET_Z = lookup.unreflect(serverPlayerClass.getMethod("getZ")).asType(MethodType.methodType(double.class, Object.class));
+                GET_X_ROT = lookup.unreflect(serverPlayerClass.getMethod("getXRot")).asType(MethodType.methodType(float.class, Object.class));
+                GET_Y_ROT = lookup.unreflect(serverPlayerClass.getMethod("getYRot")).asType(MethodType.methodType(float.class, Object.class));
+
+                // GameProfile textures
+                Class<?> propertyMapClass = getPropertiesMethod.getReturnType();
+                GET_PROPERTIES = lookup.unreflect(getPropertiesMethod).asType(objectGetter);
+                PROPERTY_MAP_REMOVE_ALL = lookup.unreflect(propertyMapClass.getMethod("removeAll", Object.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                PROPERTY_MAP_PUT = lookup.unreflect(propertyMapClass.getMethod("put", Object.class, Object.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class, Object.class));
+                NEW_PROPERTY = lookup.unreflectConstructor(propertyClass.getConstructor(String.class, String.class, String.class))
+                        .asType(MethodType.methodType(Object.class, String.class, String.class, String.class));
+                NEW_GAME_PROFILE = lookup.unreflectConstructor(gameProfileClass.getConstructor(UUID.class, String.class))
+                        .asType(MethodType.methodType(Object.class, UUID.class, String.class));
+
+                // Entity and tablist removal
+                NEW_REMOVE_ENTITIES_PACKET = lookup.unreflectConstructor(removeEntitiesPacketClass.getConstructor(int[].class))
+                        .asType(MethodType.methodType(Object.class, int[].class));
+                NEW_INFO_REMOVE_PACKET = lookup.unreflectConstructor(playerInfoRemovePacketClass.getConstructor(List.class))
+                        .asType(MethodType.methodType(Object.class, List.class));
+
+                // Tablist add: the (EnumSet, List<Entry>) packet constructor, and the Entry record
+                // captured from the player's own state, then rebuilt around a private profile copy
+                ADD_PLAYER_ACTIONS = EnumSet.of(Enum.valueOf((Class<Enum>) actionEnumClass, "ADD_PLAYER"));
+                INITIALIZE_ACTIONS = EnumSet.allOf((Class<Enum>) actionEnumClass);
+
+                Constructor<?> infoUpdateCtor = findDeclaredConstructor(playerInfoPacketClass,
+                        params -> params.length == 2 && params[0] == EnumSet.class && params[1] == List.class);
+                NEW_INFO_UPDATE_PACKET = infoUpdateCtor == null ? null : lookup.unreflectConstructor(infoUpdateCtor)
+                        .asType(MethodType.methodType(Object.class, EnumSet.class, List.class));
+
+                RecordComponent[] components = entryRecordClass.getRecordComponents();
+                Class<?>[] componentTypes = components != null
+                        ? Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new)
+                        : null;
+                int profileIndex = componentTypes != null ? Arrays.asList(componentTypes).indexOf(gameProfileClass) : -1;
+                Constructor<?> canonicalCtor = profileIndex < 0 ? null
+                        : findDeclaredConstructor(entryRecordClass, params -> Arrays.equals(params, componentTypes));
+                Constructor<?> playerCtor = findDeclaredConstructor(entryRecordClass,
+                        params -> params.length == 1 && params[0].isAssignableFrom(serverPlayerClass));
+                if (canonicalCtor != null && playerCtor != null && infoUpdateCtor != null) {
+                    NEW_INFO_ENTRY = lookup.unreflectConstructor(canonicalCtor)
+                            .asSpreader(Object[].class, componentTypes.length)
+                            .asType(MethodType.methodType(Object.class, Object[].class));
+                    NEW_PLAYER_INFO_ENTRY = lookup.unreflectConstructor(playerCtor).asType(objectGetter);
+                    INFO_ENTRY_COMPONENTS = new MethodHandle[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        Method accessor = components[i].getAccessor();
+                        accessor.setAccessible(true);
+                        INFO_ENTRY_COMPONENTS[i] = lookup.unreflect(accessor).asType(objectGetter);
                     }
+                    INFO_ENTRY_PROFILE_INDEX = profileIndex;
+                } else {
+                    NEW_INFO_ENTRY = null;
+                    NEW_PLAYER_INFO_ENTRY = null;
+                    INFO_ENTRY_COMPONENTS = null;
+                    INFO_ENTRY_PROFILE_INDEX = -1;
                 }
+
+                // Entity spawn: (int id, UUID uuid, double x, y, z, float pitch, yaw, EntityType, int data, Vec3, double headYaw)
+                Constructor<?> addEntityCtor = findDeclaredConstructor(addEntityPacketClass,
+                        params -> params.length == 11 && params[0] == int.class && params[1] == UUID.class);
+                NEW_ADD_ENTITY_PACKET = addEntityCtor == null ? null : lookup.unreflectConstructor(addEntityCtor)
+                        .asType(MethodType.methodType(Object.class, int.class, UUID.class, double.class, double.class,
+                                double.class, float.class, float.class, Object.class, int.class, Object.class, double.class));
+
+                Constructor<?> setEntityDataCtor = findDeclaredConstructor(setEntityDataPacketClass,
+                        params -> params.length == 2 && params[0] == int.class && params[1] == List.class);
+                NEW_SET_ENTITY_DATA_PACKET = setEntityDataCtor == null ? null : lookup.unreflectConstructor(setEntityDataCtor)
+                        .asType(MethodType.methodType(Object.class, int.class, List.class));
+                GET_NON_DEFAULT_DATA = findNonDefaultDataGetter(lookup);
+
+                // Bundles (1.19.4+) make the client apply a group of packets in the same frame
+                NEW_BUNDLE_PACKET = findBundleConstructor(lookup);
+
+                // Each connection's Netty event loop, so skin updates can be built and written off the main thread
+                MethodHandle[] eventLoopPath = findEventLoopPath(lookup);
+                GET_NETWORK_CONNECTION = eventLoopPath != null ? eventLoopPath[0] : null;
+                GET_CHANNEL = eventLoopPath != null ? eventLoopPath[1] : null;
+                GET_EVENT_LOOP = eventLoopPath != null ? eventLoopPath[2] : null;
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
             }
+        }
 
-            // Re-spawn the entity
-            // Get target's spawn packet by calling the respawn packet method or manually
-            Method getX = targetHandle.getClass().getMethod("getX");
-            Method getY = targetHandle.getClass().getMethod("getY");
-            Method getZ = targetHandle.getClass().getMethod("getZ");
-            Method getXRot = targetHandle.getClass().getMethod("getXRot");
-            Method getYRot = targetHandle.getClass().getMethod("getYRot");
+        private Handles() {}
 
-            for (Constructor<?> ctor : addEntityPacketClass.getConstructors()) {
-                Class<?>[] params = ctor.getParameterTypes();
-                if (params.length >= 10 && params[0] == int.class && params[1] == UUID.class) {
-                    Object spawnPacket = ctor.newInstance(
-                        targetEntityId,
-                        target.getUniqueId(),
-                        (double) getX.invoke(targetHandle),
-                        (double) getY.invoke(targetHandle),
-                        (double) getZ.invoke(targetHandle),
-                        (float) getXRot.invoke(targetHandle),
-                        (float) getYRot.invoke(targetHandle),
-                        playerEntityType,
-                        0,
-                        vec3Zero,
-                        (double) (float) getYRot.invoke(targetHandle)
-                    );
-                    sendMethod.invoke(viewerConnection, spawnPacket);
-                    break;
+        @Nullable
+        private static Constructor<?> findDeclaredConstructor(Class<?> owner, Predicate<Class<?>[]> matches) {
+            for (Constructor<?> ctor : owner.getDeclaredConstructors()) {
+                if (matches.test(ctor.getParameterTypes())) {
+                    ctor.setAccessible(true);
+                    return ctor;
                 }
             }
-            
-            // Send displayed skin parts metadata to show overlay layers (hat, jacket, sleeves, pants)
-            sendDisplayedSkinPartsPacket(viewerConnection, targetEntityId);
-
-            // Remove from tablist after short delay
-            Bukkit.getScheduler().runTaskLater(
-                Bukkit.getPluginManager().getPlugin("SkinMotion"),
-                () -> {
-                    if (viewer.isOnline()) {
-                        try {
-                            Object handle = getHandleMethod.invoke(viewer);
-                            Object conn = connectionField.get(handle);
-                            Constructor<?> removeCtor = playerInfoRemovePacketClass.getConstructor(List.class);
-                            Object removePacket = removeCtor.newInstance(List.of(target.getUniqueId()));
-                            sendMethod.invoke(conn, removePacket);
-                        } catch (Exception ignored) {}
+            return null;
+        }
+
+        /**
+         * Resolve a getter for the entity metadata differing from its defaults,
+         * {@code entity.getEntityData().getNonDefaultValues()} (1.19.3+).
+         */
+        @Nullable
+        private static MethodHandle findNonDefaultDataGetter(MethodHandles.Lookup lookup) throws IllegalAccessException {
+            try {
+                MethodHandle getEntityData = lookup.unreflect(serverPlayerClass.getMethod("getEntityData"))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                MethodHandle getNonDefaultValues = lookup.unreflect(synchedEntityDataClass.getMethod("getNonDefaultValues"))
+                        .asType(MethodType.methodType(List.class, Object.class));
+                return MethodHandles.filterReturnValue(getEntityData, getNonDefaultValues);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @Nullable
+        private static MethodHandle findBundleConstructor(MethodHandles.Lookup lookup) throws IllegalAccessException {
+            try {
+                Class<?> bundlePacketClass = Class.forName("net.minecraft.network.protocol.game.ClientboundBundlePacket");
+                return lookup.unreflectConstructor(bundlePacketClass.getConstructor(Iterable.class))
+                        .asType(MethodType.methodType(Object.class, Iterable.class));
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Resolve the getters from a game connection to its Netty event loop:
+         * network connection, channel, event loop.
+         *
+         * @return The three getters, or null if the event loop can't be reached
+         */
+        @Nullable
+        private static MethodHandle[] findEventLoopPath(MethodHandles.Lookup lookup) {
+            MethodType objectGetter = MethodType.methodType(Object.class, Object.class);
+            try {
+                Class<?> networkConnectionClass = Class.forName("net.minecraft.network.Connection");
+                Field networkConnectionField = null;
+                for (Class<?> c = connectionClass; c != null && networkConnectionField == null; c = c.getSuperclass()) {
+                    for (Field f : c.getDeclaredFields()) {
+                        if (f.getType() == networkConnectionClass) {
+                            networkConnectionField = f;
+                            break;
+                        }
                     }
-                },
-                2L
-            );
+                }
+                if (networkConnectionField == null) {
+                    throw new NoSuchFieldException("connection");
+                }
+                networkConnectionField.setAccessible(true);
+                Field channelField = networkConnectionClass.getDeclaredField("channel");
+                channelField.setAccessible(true);
+
+                return new MethodHandle[]{
+                        lookup.unreflectGetter(networkConnectionField).asType(objectGetter),
+                        lookup.unreflectGetter(channelField).asType(objectGetter),
+                        lookup.unreflect(channelField.getType().getMethod("eventLoop")).asType(objectGetter)
+                };
+            } catch (ReflectiveOperationException e) {
+                Bukkit.getLogger().warning("[FakePlayer] Netty event loops unavailable, skin updates will be sent on the main thread");
+                return null;
+            }
+        }
+    }
 
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("[FakePlayer] Failed to send skin update: " + e.getMessage());
+    /**
+     * One skin update of a real player: a snapshot of the target taken on the
+     * main thread, and the packets built from it once, by whichever thread
+     * sends it first, then written to any number of viewers.
+     */
+    public static final class SkinUpdate {
+        private final int entityId;
+        private final UUID targetId;
+        private final Object gameProfile;  // copy carrying only the new textures, safe to read off the main thread
+        private final Object infoEntry;    // tablist entry around that copy, null if unavailable
+        private final List<?> entityData;  // metadata differing from defaults, null if none or unavailable
+        private final double x;
+        private final double y;
+        private final double z;
+        private final float xRot;
+        private final float yRot;
+        private final EncodedPacketWriter writer;
+        private final boolean keepListed;
+        private final AtomicInteger users = new AtomicInteger();
+
+        // Built lazily under the update's lock
+        private List<Object> packets;
+        private Object bundle;
+        private Object[] encoded;  // pre-encoded bytes by packet index, null where not encoded
+        private boolean released;
+
+        private SkinUpdate(Player target, SkinProperty skin, @Nullable EncodedPacketWriter writer, boolean keepListed)
+                throws Throwable {
+            Object targetHandle = (Object) Handles.GET_HANDLE.invokeExact((Object) target);
+            this.entityId = (int) Handles.GET_ENTITY_ID.invokeExact(targetHandle);
+            this.targetId = target.getUniqueId();
+            this.x = (double) Handles.GET_X.invokeExact(targetHandle);
+            this.y = (double) Handles.GET_Y.invokeExact(targetHandle);
+            this.z = (double) Handles.GET_Z.invokeExact(targetHandle);
+            this.xRot = (float) Handles.GET_X_ROT.invokeExact(targetHandle);
+            this.yRot = (float) Handles.GET_Y_ROT.invokeExact(targetHandle);
+            this.writer = writer;
+            this.keepListed = keepListed;
+
+            // Replace the textures on the target's own profile for later spawns
+            Object texturesKey = SkinProperty.TEXTURES_NAME;
+            Object textureProperty = (Object) Handles.NEW_PROPERTY.invokeExact(SkinProperty.TEXTURES_NAME, skin.getValue(), skin.getSignature());
+            Object properties = (Object) Handles.GET_PROPERTIES.invokeExact((Object) Handles.GET_GAME_PROFILE.invokeExact(targetHandle));
+            Handles.PROPERTY_MAP_REMOVE_ALL.invokeExact(properties, texturesKey);
+            Handles.PROPERTY_MAP_PUT.invokeExact(properties, texturesKey, textureProperty);
+
+            // The main thread keeps changing that profile, so packets use a private copy
+            this.gameProfile = (Object) Handles.NEW_GAME_PROFILE.invokeExact(targetId, target.getName());
+            Handles.PROPERTY_MAP_PUT.invokeExact((Object) Handles.GET_PROPERTIES.invokeExact(gameProfile), texturesKey, textureProperty);
+            this.infoEntry = createInfoEntry(targetHandle, gameProfile);
+
+            // Read now: the metadata belongs to the thread owning the target
+            this.entityData = Handles.GET_NON_DEFAULT_DATA != null
+                    ? (List<?>) Handles.GET_NON_DEFAULT_DATA.invokeExact(targetHandle)
+                    : null;
+        }
+
+        /**
+         * Capture the target's tablist entry, with its real game mode, latency,
+         * display name and chat session, but the given profile.
+         */
+        @Nullable
+        private static Object createInfoEntry(Object targetHandle, Object gameProfile) throws Throwable {
+            if (Handles.NEW_INFO_ENTRY == null) {
+                return null;
+            }
+            Object liveEntry = (Object) Handles.NEW_PLAYER_INFO_ENTRY.invokeExact(targetHandle);
+            Object[] components = new Object[Handles.INFO_ENTRY_COMPONENTS.length];
+            for (int i = 0; i < components.length; i++) {
+                components[i] = (Object) Handles.INFO_ENTRY_COMPONENTS[i].invokeExact(liveEntry);
+            }
+            components[Handles.INFO_ENTRY_PROFILE_INDEX] = gameProfile;
+            return (Object) Handles.NEW_INFO_ENTRY.invokeExact(components);
+        }
+
+        private synchronized void build() throws Throwable {
+            if (packets != null) {
+                return;
+            }
+            if (released) {
+                throw new IllegalStateException("Skin update already released");
+            }
+            List<Object> built = List.copyOf(createSkinUpdatePackets(this));
+            if (writer != null) {
+                // Only the tablist entry carries the multi-KB textures worth encoding once
+                encoded = new Object[built.size()];
+                for (int i = 0; i < encoded.length; i++) {
+                    if (playerInfoPacketClass.isInstance(built.get(i))) {
+                        encoded[i] = writer.encode(built.get(i));
+                    }
+                }
+            } else if (Handles.NEW_BUNDLE_PACKET != null) {
+                bundle = (Object) Handles.NEW_BUNDLE_PACKET.invokeExact((Iterable) built);
+            }
+            packets = built;
+        }
+
+        /**
+         * Give up one viewer's use of the update, releasing the encoded bytes after the last.
+         */
+        private void releaseUse() {
+            if (users.decrementAndGet() == 0) {
+                release();
+            }
+        }
+
+        private synchronized void release() {
+            released = true;
+            if (encoded == null) {
+                return;
+            }
+            for (int i = 0; i < encoded.length; i++) {
+                if (encoded[i] != null) {
+                    try {
+                        writer.release(encoded[i]);
+                    } catch (Throwable ignored) {}
+                    encoded[i] = null;
+                }
+            }
         }
     }
 }
@@ -0,0 +1,49 @@
+package dev.th0rgal.skinmotion.bukkit.paper;
+
+import dev.th0rgal.skinmotion.bukkit.animation.TrackedViewers;
+import io.papermc.paper.event.player.PlayerTrackEntityEvent;
+import io.papermc.paper.event.player.PlayerUntrackEntityEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Feeds Paper's entity tracking events into {@link TrackedViewers}.
+ * Only load this class on servers that have those events.
+ */
+public final class PaperTrackingListener implements Listener {
+
+    private final TrackedViewers trackedViewers;
+
+    public PaperTrackingListener(@NotNull TrackedViewers trackedViewers) {
+        this.trackedViewers = trackedViewers;
+    }
+
+    /**
+     * Record the players each online player is already tracking, which no event will report.
+     */
+    public void seed() {
+        for (Player target : Bukkit.getOnlinePlayers()) {
+            for (Player viewer : target.getTrackedPlayers()) {
+                trackedViewers.track(viewer, target);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTrack(PlayerTrackEntityEvent event) {
+        if (event.getEntity() instanceof Player target) {
+            trackedViewers.track(event.getPlayer(), target);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onUntrack(PlayerUntrackEntityEvent event) {
+        if (event.getEntity() instanceof Player target) {
+            trackedViewers.untrack(event.getPlayer(), target);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.th0rgal.skinmotion.bukkit.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Scheduler for servers with a single main thread, backed by the {@link BukkitScheduler}.
+ */
+final class BukkitPlatformScheduler implements PlatformScheduler {
+
+    private final Plugin plugin;
+
+    BukkitPlatformScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runGlobal(@NotNull Runnable task) {
+        return Bukkit.getScheduler().runTask(plugin, task)::cancel;
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        return runForEntityLater(entity, task, 0L);
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks) {
+        return Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (!isRemoved(entity)) {
+                task.run();
+            }
+        }, delayTicks)::cancel;
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runForEntityTimer(@NotNull Entity entity, @NotNull Runnable task, @Nullable Runnable retired,
+                                          long delayTicks, long periodTicks) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                if (isRemoved(entity)) {
+                    done = true;
+                    if (retired != null) {
+                        retired.run();
+                    }
+                    return;
+                }
+                task.run();
+            }
+        }, delayTicks, periodTicks)::cancel;
+    }
+
+    /**
+     * Check if an entity left the world for good. A dead player is not valid
+     * but stays online and keeps their tasks, as on Folia.
+     */
+    private static boolean isRemoved(Entity entity) {
+        if (entity instanceof Player player) {
+            return !player.isOnline();
+        }
+        return !entity.isValid();
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runAsync(@NotNull Runnable task) {
+        return Bukkit.getScheduler().runTaskAsynchronously(plugin, task)::cancel;
+    }
+}
@@ -0,0 +1,78 @@
+package dev.th0rgal.skinmotion.bukkit.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Scheduler for Folia, running entity work on the entity's region thread
+ * and everything else on the global region or async scheduler.
+ * Only load this class on Folia.
+ */
+final class FoliaPlatformScheduler implements PlatformScheduler {
+
+    private static final PlatformTask NOT_SCHEDULED = () -> {};
+
+    private final Plugin plugin;
+
+    FoliaPlatformScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runGlobal(@NotNull Runnable task) {
+        return wrap(Bukkit.getGlobalRegionScheduler().run(plugin, scheduled -> task.run()));
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks), periodTicks));
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        return wrap(entity.getScheduler().run(plugin, scheduled -> task.run(), null));
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks) {
+        return wrap(entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, Math.max(1L, delayTicks)));
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runForEntityTimer(@NotNull Entity entity, @NotNull Runnable task, @Nullable Runnable retired,
+                                          long delayTicks, long periodTicks) {
+        return wrap(entity.getScheduler().runAtFixedRate(plugin, scheduled -> task.run(), retired,
+                Math.max(1L, delayTicks), periodTicks));
+    }
+
+    @NotNull
+    @Override
+    public PlatformTask runAsync(@NotNull Runnable task) {
+        return wrap(Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run()));
+    }
+
+    private static PlatformTask wrap(@Nullable ScheduledTask task) {
+        // Entity schedulers return null once the entity is removed
+        return task != null ? task::cancel : NOT_SCHEDULED;
+    }
+}
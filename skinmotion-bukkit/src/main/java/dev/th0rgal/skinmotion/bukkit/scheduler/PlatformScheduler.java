@@ -0,0 +1,82 @@
+package dev.th0rgal.skinmotion.bukkit.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Schedules plugin work on the thread that owns it: the main thread on
+ * Bukkit and Paper, or the matching region thread on Folia.
+ */
+public interface PlatformScheduler {
+
+    /**
+     * Create the scheduler for the running server.
+     */
+    @NotNull
+    static PlatformScheduler create(@NotNull Plugin plugin) {
+        return isFolia() ? new FoliaPlatformScheduler(plugin) : new BukkitPlatformScheduler(plugin);
+    }
+
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the server ticks regions on separate threads instead of one main thread.
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Check if the current thread may access an entity.
+     */
+    boolean isOwnedByCurrentThread(@NotNull Entity entity);
+
+    /**
+     * Run a task on the next tick, outside any entity's region.
+     */
+    @NotNull
+    PlatformTask runGlobal(@NotNull Runnable task);
+
+    /**
+     * Run a repeating task outside any entity's region.
+     */
+    @NotNull
+    PlatformTask runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Run a task on the thread owning an entity. The task is skipped if the
+     * entity is removed first.
+     */
+    @NotNull
+    PlatformTask runForEntity(@NotNull Entity entity, @NotNull Runnable task);
+
+    /**
+     * Run a task on the thread owning an entity after a delay. The task is
+     * skipped if the entity is removed first.
+     */
+    @NotNull
+    PlatformTask runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks);
+
+    /**
+     * Run a repeating task on the thread owning an entity, following it across
+     * regions until cancelled or the entity is removed.
+     *
+     * @param retired Run instead once the entity is removed, may be null
+     */
+    @NotNull
+    PlatformTask runForEntityTimer(@NotNull Entity entity, @NotNull Runnable task, @Nullable Runnable retired,
+                                   long delayTicks, long periodTicks);
+
+    /**
+     * Run a task off the server threads.
+     */
+    @NotNull
+    PlatformTask runAsync(@NotNull Runnable task);
+}
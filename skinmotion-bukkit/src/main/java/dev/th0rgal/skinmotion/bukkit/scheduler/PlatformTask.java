@@ -0,0 +1,13 @@
+package dev.th0rgal.skinmotion.bukkit.scheduler;
+
+/**
+ * A task scheduled through a {@link PlatformScheduler}.
+ */
+@FunctionalInterface
+public interface PlatformTask {
+
+    /**
+     * Cancel the task if it has not run yet, or stop it repeating.
+     */
+    void cancel();
+}
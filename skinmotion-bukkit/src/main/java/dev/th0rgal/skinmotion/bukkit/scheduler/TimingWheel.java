@@ -0,0 +1,167 @@
+package dev.th0rgal.skinmotion.bukkit.scheduler;
+
+import dev.th0rgal.skinmotion.bukkit.npc.FakePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hashed timing wheel for the short delayed actions sent to viewers, such as
+ * tablist removals after a skin swap and re-shows after a hide.
+ * <p>
+ * Instead of one scheduled task per action, actions land in one bucket per
+ * tick, grouped by viewer, and a single repeating task flushes a bucket per
+ * tick. All tablist removals due for a viewer go out as one packet, and all
+ * of a viewer's other actions run together: inline on the main thread, or as
+ * one task on the viewer's region thread on Folia.
+ * <p>
+ * Actions may be scheduled from any thread.
+ */
+public final class TimingWheel {
+
+    /** Buckets in the wheel, a power of two; longer delays wait extra turns in their bucket */
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final PlatformScheduler scheduler;
+    private final List<Map<Player, ViewerBatch>> buckets = new ArrayList<>(WHEEL_SIZE);
+    private final List<ViewerBatch> due = new ArrayList<>();
+    private long tick;
+    private PlatformTask task;
+
+    public TimingWheel(@NotNull PlatformScheduler scheduler) {
+        this.scheduler = scheduler;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public void start() {
+        task = scheduler.runGlobalTimer(this::advance, 1L, 1L);
+    }
+
+    /**
+     * Stop the wheel and drop every pending action.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Map<Player, ViewerBatch> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Remove a player from a viewer's tablist after a delay.
+     */
+    public synchronized void removeFromTablist(@NotNull Player viewer, @NotNull UUID playerId, long delayTicks) {
+        batchFor(viewer, delayTicks).tablistRemovals.add(playerId);
+    }
+
+    /**
+     * Run an action on the thread owning a viewer after a delay.
+     */
+    public synchronized void runFor(@NotNull Player viewer, @NotNull Runnable action, long delayTicks) {
+        batchFor(viewer, delayTicks).actions.add(action);
+    }
+
+    private ViewerBatch batchFor(Player viewer, long delayTicks) {
+        long deadline = tick + Math.max(1L, delayTicks);
+        Map<Player, ViewerBatch> bucket = buckets.get((int) (deadline & WHEEL_MASK));
+
+        // Batches of one viewer in a bucket differ only by how many turns they still wait
+        ViewerBatch first = bucket.get(viewer);
+        for (ViewerBatch batch = first; batch != null; batch = batch.next) {
+            if (batch.deadline == deadline) {
+                return batch;
+            }
+        }
+        ViewerBatch batch = new ViewerBatch(viewer, deadline);
+        batch.next = first;
+        bucket.put(viewer, batch);
+        return batch;
+    }
+
+    /**
+     * Move to the next tick and flush the batches due on it.
+     */
+    private void advance() {
+        synchronized (this) {
+            tick++;
+            Iterator<Map.Entry<Player, ViewerBatch>> entries = buckets.get((int) (tick & WHEEL_MASK)).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Player, ViewerBatch> entry = entries.next();
+                ViewerBatch waiting = null;
+                for (ViewerBatch batch = entry.getValue(); batch != null; ) {
+                    ViewerBatch next = batch.next;
+                    if (batch.deadline <= tick) {
+                        due.add(batch);
+                    } else {
+                        batch.next = waiting;
+                        waiting = batch;
+                    }
+                    batch = next;
+                }
+                if (waiting != null) {
+                    entry.setValue(waiting);
+                } else {
+                    entries.remove();
+                }
+            }
+        }
+
+        // Flush outside the lock so actions can schedule more
+        for (int i = 0; i < due.size(); i++) {
+            flush(due.get(i));
+        }
+        due.clear();
+    }
+
+    private void flush(ViewerBatch batch) {
+        Player viewer = batch.viewer;
+        if (!viewer.isOnline()) {
+            return;
+        }
+
+        if (!batch.tablistRemovals.isEmpty()) {
+            FakePlayer.sendTablistRemoval(viewer, batch.tablistRemovals);
+        }
+
+        List<Runnable> actions = batch.actions;
+        if (actions.isEmpty()) {
+            return;
+        }
+        if (scheduler.isOwnedByCurrentThread(viewer)) {
+            runAll(actions);
+        } else {
+            scheduler.runForEntity(viewer, () -> runAll(actions));
+        }
+    }
+
+    private static void runAll(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    private static final class ViewerBatch {
+        final Player viewer;
+        final long deadline;
+        final List<UUID> tablistRemovals = new ArrayList<>(2);
+        final List<Runnable> actions = new ArrayList<>(0);
+        ViewerBatch next;
+
+        ViewerBatch(Player viewer, long deadline) {
+            this.viewer = viewer;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -9,30 +9,76 @@ import java.io.File;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
  * SQLite-based storage for persisting skin configurations locally.
  * This allows skins to persist between login/logout without needing to
  * fetch from the API every time.
+ * <p>
+ * All database access runs on a single dedicated storage thread, so the
+ * connection is never shared between threads and SQLite I/O stays off the
+ * server thread. Public operations return futures completed on that thread.
+ * Saves queued with {@link #queueSave} are coalesced per player and written
+ * in one batched transaction on each write-behind flush.
  */
 public final class SkinStorage {
 
-    private static final int SCHEMA_VERSION = 1;
+    private static final int SCHEMA_VERSION = 2;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
     private final File databaseFile;
     private final Logger logger;
+    private final ScheduledExecutorService executor;
     private Connection connection;
 
+    /** Latest unsaved config per player UUID, written by the next flush */
+    private final Map<String, SkinConfig> pendingWrites = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> writeBehindTask;
+
     public SkinStorage(@NotNull File dataFolder, @NotNull Logger logger) {
         this.databaseFile = new File(dataFolder, "skins.db");
         this.logger = logger;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "SkinMotion-Storage");
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
      * Initialize the database connection and create tables if needed.
+     * Blocks until the storage thread has finished opening the database.
      */
     public void initialize() throws SQLException {
+        try {
+            executor.submit(() -> {
+                openDatabase();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to initialize skin storage", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while initializing skin storage", e);
+        }
+    }
+
+    private void openDatabase() throws SQLException {
         if (!databaseFile.getParentFile().exists()) {
             databaseFile.getParentFile().mkdirs();
         }
@@ -64,7 +110,9 @@ public final class SkinStorage {
                     loop_mode TEXT DEFAULT 'loop',
                     frame_duration_ticks INTEGER DEFAULT 10,
                     enabled INTEGER DEFAULT 1,
-                    last_updated INTEGER DEFAULT (strftime('%s', 'now'))
+                    last_updated INTEGER DEFAULT (strftime('%s', 'now')),
+                    etag TEXT,
+                    last_modified TEXT
                 )
             """);
 
@@ -94,11 +142,27 @@ public final class SkinStorage {
         int currentVersion = getSchemaVersion();
         
         if (currentVersion < SCHEMA_VERSION) {
-            // Future migrations would go here
+            // Version 2: HTTP cache validators for conditional fetches
+            addColumnIfMissing("skin_configs", "etag", "TEXT");
+            addColumnIfMissing("skin_configs", "last_modified", "TEXT");
+
             setSchemaVersion(SCHEMA_VERSION);
         }
     }
 
+    private void addColumnIfMissing(String table, String column, String type) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("name"))) {
+                        return;
+                    }
+                }
+            }
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type);
+        }
+    }
+
     private int getSchemaVersion() {
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version LIMIT 1")) {
@@ -112,6 +176,9 @@ public final class SkinStorage {
     }
 
     private void setSchemaVersion(int version) throws SQLException {
+        try (Statement clear = connection.createStatement()) {
+            clear.execute("DELETE FROM schema_version");
+        }
         try (PreparedStatement stmt = connection.prepareStatement(
                 "INSERT OR REPLACE INTO schema_version (version) VALUES (?)")) {
             stmt.setInt(1, version);
@@ -120,62 +187,142 @@ public final class SkinStorage {
     }
 
     /**
-     * Save a skin configuration to local storage.
+     * Save a skin configuration to local storage immediately.
      */
-    public void saveSkin(@NotNull SkinConfig config) {
-        try {
-            connection.setAutoCommit(false);
+    @NotNull
+    public CompletableFuture<Void> saveSkin(@NotNull SkinConfig config) {
+        pendingWrites.remove(config.getMinecraftUuid());
+        return runOnStorageThread(() -> writeSkins(List.of(config)));
+    }
 
-            // Insert or update config
-            try (PreparedStatement stmt = connection.prepareStatement("""
-                INSERT OR REPLACE INTO skin_configs 
-                (minecraft_uuid, minecraft_username, cape_type, loop_mode, frame_duration_ticks, enabled, last_updated)
-                VALUES (?, ?, ?, ?, ?, ?, strftime('%s', 'now'))
-            """)) {
-                stmt.setString(1, config.getMinecraftUuid());
-                stmt.setString(2, config.getMinecraftUsername());
-                stmt.setString(3, config.getCapeType());
-                stmt.setString(4, config.getLoopMode());
-                stmt.setInt(5, config.getFrameDurationTicks());
-                stmt.setInt(6, config.isEnabled() ? 1 : 0);
-                stmt.executeUpdate();
+    /**
+     * Queue a skin configuration for the next write-behind flush.
+     * Only the latest queued config per player is kept; if write-behind is
+     * disabled the config is saved immediately.
+     */
+    public void queueSave(@NotNull SkinConfig config) {
+        if (writeBehindTask == null) {
+            saveSkin(config);
+            return;
+        }
+        pendingWrites.put(config.getMinecraftUuid(), config);
+    }
+
+    /**
+     * Start flushing queued saves every {@code intervalSeconds} seconds.
+     *
+     * @param intervalSeconds Flush interval; zero or less keeps saves immediate
+     */
+    public void startWriteBehind(int intervalSeconds) {
+        if (intervalSeconds <= 0 || writeBehindTask != null) {
+            return;
+        }
+        writeBehindTask = executor.scheduleWithFixedDelay(
+                this::flushPendingWrites, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Write every queued save in one transaction.
+     */
+    @NotNull
+    public CompletableFuture<Void> flush() {
+        return runOnStorageThread(this::flushPendingWrites);
+    }
+
+    /**
+     * Write one player's queued save, if any, leaving the rest of the queue
+     * for the next write-behind flush.
+     */
+    @NotNull
+    public CompletableFuture<Void> flush(@NotNull UUID playerId) {
+        return runOnStorageThread(() -> {
+            SkinConfig config = pendingWrites.remove(playerId.toString());
+            if (config != null) {
+                writeSkins(List.of(config));
             }
+        });
+    }
+
+    private void flushPendingWrites() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
 
-            // Delete existing frames
-            try (PreparedStatement stmt = connection.prepareStatement(
-                    "DELETE FROM skin_frames WHERE minecraft_uuid = ?")) {
-                stmt.setString(1, config.getMinecraftUuid());
-                stmt.executeUpdate();
+        List<SkinConfig> batch = new ArrayList<>(pendingWrites.size());
+        for (String uuid : pendingWrites.keySet()) {
+            SkinConfig config = pendingWrites.remove(uuid);
+            if (config != null) {
+                batch.add(config);
             }
+        }
+        writeSkins(batch);
+    }
+
+    private void writeSkins(List<SkinConfig> configs) {
+        if (configs.isEmpty()) {
+            return;
+        }
+
+        try {
+            connection.setAutoCommit(false);
 
-            // Insert new frames
-            if (config.getFrames() != null && !config.getFrames().isEmpty()) {
-                try (PreparedStatement stmt = connection.prepareStatement("""
+            try (PreparedStatement configStmt = connection.prepareStatement("""
+                    INSERT OR REPLACE INTO skin_configs 
+                    (minecraft_uuid, minecraft_username, cape_type, loop_mode, frame_duration_ticks, enabled,
+                     etag, last_modified, last_updated)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, strftime('%s', 'now'))
+                 """);
+                 PreparedStatement deleteFramesStmt = connection.prepareStatement(
+                         "DELETE FROM skin_frames WHERE minecraft_uuid = ?");
+                 PreparedStatement insertFrameStmt = connection.prepareStatement("""
                     INSERT INTO skin_frames 
                     (minecraft_uuid, frame_index, texture_value, texture_signature, texture_url)
                     VALUES (?, ?, ?, ?, ?)
-                """)) {
-                    for (SkinFrame frame : config.getFrames()) {
-                        stmt.setString(1, config.getMinecraftUuid());
-                        stmt.setInt(2, frame.getFrameIndex());
-                        stmt.setString(3, frame.getTextureValue());
-                        stmt.setString(4, frame.getTextureSignature());
-                        stmt.setString(5, frame.getTextureUrl());
-                        stmt.addBatch();
+                 """)) {
+
+                for (SkinConfig config : configs) {
+                    // Insert or update config
+                    configStmt.setString(1, config.getMinecraftUuid());
+                    configStmt.setString(2, config.getMinecraftUsername());
+                    configStmt.setString(3, config.getCapeType());
+                    configStmt.setString(4, config.getLoopMode());
+                    configStmt.setInt(5, config.getFrameDurationTicks());
+                    configStmt.setInt(6, config.isEnabled() ? 1 : 0);
+                    configStmt.setString(7, config.getEtag());
+                    configStmt.setString(8, config.getLastModified());
+                    configStmt.addBatch();
+
+                    // Delete existing frames
+                    deleteFramesStmt.setString(1, config.getMinecraftUuid());
+                    deleteFramesStmt.addBatch();
+
+                    // Insert new frames
+                    if (config.getFrames() != null) {
+                        for (SkinFrame frame : config.getFrames()) {
+                            insertFrameStmt.setString(1, config.getMinecraftUuid());
+                            insertFrameStmt.setInt(2, frame.getFrameIndex());
+                            insertFrameStmt.setString(3, frame.getTextureValue());
+                            insertFrameStmt.setString(4, frame.getTextureSignature());
+                            insertFrameStmt.setString(5, frame.getTextureUrl());
+                            insertFrameStmt.addBatch();
+                        }
                     }
-                    stmt.executeBatch();
                 }
+
+                configStmt.executeBatch();
+                deleteFramesStmt.executeBatch();
+                insertFrameStmt.executeBatch();
             }
 
             connection.commit();
-            logger.fine("Saved skin for " + config.getMinecraftUsername());
+            logger.fine("Saved " + configs.size() + " skin(s)");
         } catch (SQLException e) {
             try {
                 connection.rollback();
             } catch (SQLException ex) {
                 logger.warning("Failed to rollback transaction: " + ex.getMessage());
             }
-            logger.warning("Failed to save skin: " + e.getMessage());
+            logger.warning("Failed to save " + configs.size() + " skin(s): " + e.getMessage());
         } finally {
             try {
                 connection.setAutoCommit(true);
@@ -187,10 +334,22 @@ public final class SkinStorage {
 
     /**
      * Load a skin configuration from local storage.
+     * Completes with null if the player has no persisted skin.
      */
+    @NotNull
+    public CompletableFuture<SkinConfig> loadSkin(@NotNull UUID playerId) {
+        return supplyOnStorageThread(() -> readSkin(playerId));
+    }
+
     @Nullable
-    public SkinConfig loadSkin(@NotNull UUID playerId) {
+    private SkinConfig readSkin(UUID playerId) {
         String uuid = playerId.toString();
+
+        // A queued save is newer than anything on disk
+        SkinConfig pending = pendingWrites.get(uuid);
+        if (pending != null) {
+            return pending;
+        }
         
         try {
             // Load config
@@ -199,9 +358,11 @@ public final class SkinStorage {
             String loopMode;
             int frameDuration;
             boolean enabled;
+            String etag;
+            String lastModified;
             
             try (PreparedStatement stmt = connection.prepareStatement("""
-                SELECT minecraft_username, cape_type, loop_mode, frame_duration_ticks, enabled
+                SELECT minecraft_username, cape_type, loop_mode, frame_duration_ticks, enabled, etag, last_modified
                 FROM skin_configs WHERE minecraft_uuid = ?
             """)) {
                 stmt.setString(1, uuid);
@@ -214,6 +375,8 @@ public final class SkinStorage {
                     loopMode = rs.getString("loop_mode");
                     frameDuration = rs.getInt("frame_duration_ticks");
                     enabled = rs.getInt("enabled") == 1;
+                    etag = rs.getString("etag");
+                    lastModified = rs.getString("last_modified");
                 }
             }
 
@@ -240,7 +403,9 @@ public final class SkinStorage {
                 return null;
             }
 
-            return new SkinConfig(uuid, username, capeType, loopMode, frameDuration, enabled, frames);
+            SkinConfig config = new SkinConfig(uuid, username, capeType, loopMode, frameDuration, enabled, frames);
+            config.setCacheValidators(etag, lastModified);
+            return config;
         } catch (SQLException e) {
             logger.warning("Failed to load skin for " + uuid + ": " + e.getMessage());
             return null;
@@ -250,7 +415,15 @@ public final class SkinStorage {
     /**
      * Check if a player has a persisted skin.
      */
-    public boolean hasSkin(@NotNull UUID playerId) {
+    @NotNull
+    public CompletableFuture<Boolean> hasSkin(@NotNull UUID playerId) {
+        return supplyOnStorageThread(() -> skinExists(playerId));
+    }
+
+    private boolean skinExists(UUID playerId) {
+        if (pendingWrites.containsKey(playerId.toString())) {
+            return true;
+        }
         try (PreparedStatement stmt = connection.prepareStatement(
                 "SELECT 1 FROM skin_configs WHERE minecraft_uuid = ? LIMIT 1")) {
             stmt.setString(1, playerId.toString());
@@ -266,7 +439,13 @@ public final class SkinStorage {
     /**
      * Delete a player's skin from local storage.
      */
-    public void deleteSkin(@NotNull UUID playerId) {
+    @NotNull
+    public CompletableFuture<Void> deleteSkin(@NotNull UUID playerId) {
+        pendingWrites.remove(playerId.toString());
+        return runOnStorageThread(() -> removeSkin(playerId));
+    }
+
+    private void removeSkin(UUID playerId) {
         try (PreparedStatement stmt = connection.prepareStatement(
                 "DELETE FROM skin_configs WHERE minecraft_uuid = ?")) {
             stmt.setString(1, playerId.toString());
@@ -278,9 +457,29 @@ public final class SkinStorage {
     }
 
     /**
-     * Close the database connection.
+     * Flush queued saves and close the database connection once all queued
+     * operations have run, then stop the storage thread.
      */
     public void close() {
+        try {
+            executor.execute(() -> {
+                flushPendingWrites();
+                closeConnection();
+            });
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for skin storage to close.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeConnection() {
         if (connection != null) {
             try {
                 connection.close();
@@ -290,4 +489,20 @@ public final class SkinStorage {
             }
         }
     }
+
+    private CompletableFuture<Void> runOnStorageThread(Runnable operation) {
+        try {
+            return CompletableFuture.runAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyOnStorageThread(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package dev.th0rgal.skinmotion.bukkit.animation;
+
+import dev.th0rgal.skinmotion.core.config.Config;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnimationGovernorTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @TempDir
+    File dataFolder;
+
+    /**
+     * Governor timing ticks itself, as on Spigot and Folia.
+     */
+    private AnimationGovernor measuringGovernor() {
+        return new AnimationGovernor(null, Logger.getLogger("AnimationGovernorTest"), Config.load(dataFolder), false);
+    }
+
+    @Test
+    void healthyCadenceStaysNormal() {
+        AnimationGovernor governor = measuringGovernor();
+        long now = 0;
+        for (int i = 0; i < 2400; i++) {
+            now += 50 * MILLIS;
+            governor.sample(now);
+        }
+        assertEquals(AnimationGovernor.Level.NORMAL, governor.getLevel());
+        assertEquals(0.0, governor.getMspt(), 0.001);
+    }
+
+    @Test
+    void jitteryCadenceStaysNormal() {
+        AnimationGovernor governor = measuringGovernor();
+        long now = 0;
+        for (int i = 0; i < 2400; i++) {
+            now += (i % 2 == 0 ? 45 : 55) * MILLIS;
+            governor.sample(now);
+        }
+        assertEquals(AnimationGovernor.Level.NORMAL, governor.getLevel());
+    }
+
+    @Test
+    void slightlyLongTicksStretch() {
+        assertEquals(AnimationGovernor.Level.STRETCHED, levelAfterSteadyInterval(65));
+    }
+
+    @Test
+    void longerTicksReduceRadius() {
+        assertEquals(AnimationGovernor.Level.REDUCED_RADIUS, levelAfterSteadyInterval(75));
+    }
+
+    @Test
+    void ticksUnderTwelveTpsPause() {
+        assertEquals(AnimationGovernor.Level.PAUSED_LOW_PRIORITY, levelAfterSteadyInterval(95));
+    }
+
+    private AnimationGovernor.Level levelAfterSteadyInterval(long intervalMillis) {
+        AnimationGovernor governor = measuringGovernor();
+        long now = 0;
+        for (int i = 0; i < 1200; i++) {
+            now += intervalMillis * MILLIS;
+            governor.sample(now);
+        }
+        return governor.getLevel();
+    }
+
+    @Test
+    void overrunningTicksEscalate() {
+        AnimationGovernor governor = measuringGovernor();
+        long now = 0;
+        for (int i = 0; i < 1200; i++) {
+            now += 110 * MILLIS;
+            governor.sample(now);
+        }
+        assertEquals(AnimationGovernor.Level.PAUSED_LOW_PRIORITY, governor.getLevel());
+    }
+}
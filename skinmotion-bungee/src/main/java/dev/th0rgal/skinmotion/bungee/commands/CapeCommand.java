@@ -7,6 +7,7 @@ import dev.th0rgal.skinmotion.core.model.CapeType;
 import dev.th0rgal.skinmotion.core.model.SkinProperty;
 import dev.th0rgal.skinmotion.core.model.SkinVariant;
 import dev.th0rgal.skinmotion.core.model.TextureData;
+import dev.th0rgal.skinmotion.core.model.TextureInfo;
 import dev.th0rgal.skinmotion.core.util.SkinUtil;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -108,14 +109,15 @@ public final class CapeCommand extends Command implements TabExecutor {
             return;
         }
 
-        String skinUrl = SkinUtil.extractSkinUrl(currentSkin);
+        TextureInfo textureInfo = SkinUtil.decode(currentSkin);
+        String skinUrl = textureInfo.skinUrl();
         if (skinUrl == null) {
             sendMessage(audience, config.getPrefix() + 
                 "<red>Could not determine your skin URL. Please try again.");
             return;
         }
 
-        SkinVariant variant = SkinUtil.extractVariant(currentSkin);
+        SkinVariant variant = textureInfo.variant();
 
         sendMessage(audience, config.getPrefix() + config.getApplying());
 
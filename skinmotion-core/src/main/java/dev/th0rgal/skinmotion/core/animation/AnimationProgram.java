@@ -0,0 +1,126 @@
+package dev.th0rgal.skinmotion.core.animation;
+
+import dev.th0rgal.skinmotion.core.model.SkinConfig;
+import dev.th0rgal.skinmotion.core.model.SkinFrame;
+import dev.th0rgal.skinmotion.core.model.SkinProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, precompiled form of an animated {@link SkinConfig}.
+ * <p>
+ * The loop mode is unrolled into a schedule of steps: each step shows one
+ * frame for a number of ticks. A loop plays {@code 0..n-1}, a ping-pong
+ * plays {@code 0..n-1..1} and a one-shot plays {@code 0..n-1} then holds the
+ * last frame. Frame properties are built once, so stepping through the
+ * program never allocates. Instances can be shared freely between threads.
+ */
+public final class AnimationProgram {
+
+    private final LoopMode loopMode;
+    private final SkinProperty[] frames;
+    private final int[] stepFrames;
+    private final int[] stepTicks;
+
+    private AnimationProgram(LoopMode loopMode, SkinProperty[] frames, int[] stepFrames, int[] stepTicks) {
+        this.loopMode = loopMode;
+        this.frames = frames;
+        this.stepFrames = stepFrames;
+        this.stepTicks = stepTicks;
+    }
+
+    /**
+     * Compile a skin config into an animation program.
+     *
+     * @param config The skin config
+     * @return The program, or null if the config is not animated
+     */
+    @Nullable
+    public static AnimationProgram compile(@NotNull SkinConfig config) {
+        if (!config.isAnimated()) {
+            return null;
+        }
+
+        List<SkinFrame> configFrames = config.getFrames();
+        if (configFrames == null) {
+            return null;
+        }
+        SkinProperty[] frames = new SkinProperty[configFrames.size()];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = configFrames.get(i).toSkinProperty();
+        }
+
+        LoopMode loopMode = LoopMode.fromString(config.getLoopMode());
+        int frameCount = frames.length;
+        int[] stepFrames;
+        if (loopMode == LoopMode.PING_PONG && frameCount > 2) {
+            stepFrames = new int[frameCount * 2 - 2];
+            for (int i = 0; i < frameCount; i++) {
+                stepFrames[i] = i;
+            }
+            for (int i = frameCount; i < stepFrames.length; i++) {
+                stepFrames[i] = stepFrames.length - i;
+            }
+        } else {
+            stepFrames = new int[frameCount];
+            for (int i = 0; i < frameCount; i++) {
+                stepFrames[i] = i;
+            }
+        }
+
+        // Every frame currently shares the config's duration
+        int[] stepTicks = new int[stepFrames.length];
+        Arrays.fill(stepTicks, config.getFrameDurationTicks());
+
+        return new AnimationProgram(loopMode, frames, stepFrames, stepTicks);
+    }
+
+    @NotNull
+    public LoopMode getLoopMode() {
+        return loopMode;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public int getStepCount() {
+        return stepFrames.length;
+    }
+
+    /**
+     * Frame index shown at a schedule step.
+     */
+    public int getFrameAt(int step) {
+        return stepFrames[step];
+    }
+
+    /**
+     * Number of ticks a schedule step is shown for.
+     */
+    public int getTicksAt(int step) {
+        return stepTicks[step];
+    }
+
+    /**
+     * Prebuilt skin property of the frame shown at a schedule step.
+     */
+    @NotNull
+    public SkinProperty getPropertyAt(int step) {
+        return frames[stepFrames[step]];
+    }
+
+    /**
+     * Step that follows the given one. A one-shot program stays on its last step.
+     */
+    public int nextStep(int step) {
+        int next = step + 1;
+        if (next < stepFrames.length) {
+            return next;
+        }
+        return loopMode == LoopMode.ONCE ? step : 0;
+    }
+}
@@ -0,0 +1,53 @@
+package dev.th0rgal.skinmotion.core.animation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * How an animated skin continues after its last frame.
+ */
+public enum LoopMode {
+    /**
+     * Restart from the first frame.
+     */
+    LOOP("loop"),
+
+    /**
+     * Play backwards to the first frame, then forwards again.
+     */
+    PING_PONG("ping_pong"),
+
+    /**
+     * Stop on the last frame.
+     */
+    ONCE("once");
+
+    private final String id;
+
+    LoopMode(@NotNull String id) {
+        this.id = id;
+    }
+
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Parse a loop mode from its config string.
+     *
+     * @param value The loop mode string (e.g., "ping_pong")
+     * @return The loop mode, defaulting to LOOP if unknown
+     */
+    @NotNull
+    public static LoopMode fromString(@Nullable String value) {
+        if (value != null) {
+            for (LoopMode mode : values()) {
+                if (mode.id.equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+        }
+        return LOOP;
+    }
+}
@@ -3,19 +3,30 @@ package dev.th0rgal.skinmotion.core.api;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import dev.th0rgal.skinmotion.core.model.SkinConfig;
+import dev.th0rgal.skinmotion.core.model.SkinConfigAdapter;
 import dev.th0rgal.skinmotion.core.model.SkinFrame;
+import dev.th0rgal.skinmotion.core.model.SkinFrameAdapter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -24,7 +35,13 @@ import java.util.logging.Logger;
  */
 public final class SkinApiClient {
 
-    private static final Gson GSON = new GsonBuilder().create();
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(SkinConfig.class, new SkinConfigAdapter())
+            .registerTypeAdapter(SkinFrame.class, new SkinFrameAdapter())
+            .create();
+
+    /** Maximum number of UUIDs sent in one batch request */
+    public static final int MAX_BATCH_SIZE = 100;
 
     private final String baseUrl;
     private final String apiKey;
@@ -32,6 +49,15 @@ public final class SkinApiClient {
     private final Duration timeout;
     private final Logger logger;
 
+    /** Stands in for the caller's own cached config while a 304 answer is shared between callers */
+    private static final SkinConfig NOT_MODIFIED = new SkinConfig();
+
+    /** Skin config fetches currently in flight, keyed by player UUID and the ETag sent */
+    private final Map<String, CompletableFuture<SkinConfig>> inFlightSkinFetches = new ConcurrentHashMap<>();
+
+    /** Set once the API has rejected the batch endpoint, so later batches go straight to single fetches */
+    private volatile boolean batchUnsupported;
+
     public SkinApiClient(@NotNull String baseUrl, @NotNull String apiKey, int timeoutSeconds, @Nullable Logger logger) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         this.apiKey = apiKey;
@@ -86,37 +112,236 @@ public final class SkinApiClient {
 
     /**
      * Fetch a player's skin configuration.
+     * Concurrent calls for the same player share a single request.
      *
      * @param minecraftUuid Player's Minecraft UUID
      * @return The skin configuration, or null if not found
      */
     @NotNull
     public CompletableFuture<SkinConfig> getSkinConfig(@NotNull String minecraftUuid) {
-        HttpRequest request = HttpRequest.newBuilder()
+        return getSkinConfig(minecraftUuid, null);
+    }
+
+    /**
+     * Fetch a player's skin configuration, revalidating a locally held copy.
+     * The request carries the cached config's ETag and Last-Modified date; if
+     * the API answers 304 Not Modified, the cached instance itself is returned.
+     *
+     * @param minecraftUuid Player's Minecraft UUID
+     * @param cached        Locally held config to revalidate, or null for a full fetch
+     * @return The skin configuration, or null if not found
+     */
+    @NotNull
+    public CompletableFuture<SkinConfig> getSkinConfig(@NotNull String minecraftUuid, @Nullable SkinConfig cached) {
+        return getSkinConfig(minecraftUuid, cached, false);
+    }
+
+    /**
+     * Fetch a player's skin configuration after it changed on the API side.
+     * Unlike {@link #getSkinConfig(String)}, this never joins a request that
+     * was already in flight, since that one may answer with the config from
+     * before the change. Later calls for the player share this request instead.
+     *
+     * @param minecraftUuid Player's Minecraft UUID
+     * @return The skin configuration, or null if not found
+     */
+    @NotNull
+    public CompletableFuture<SkinConfig> refreshSkinConfig(@NotNull String minecraftUuid) {
+        return getSkinConfig(minecraftUuid, null, true);
+    }
+
+    private CompletableFuture<SkinConfig> getSkinConfig(String minecraftUuid, @Nullable SkinConfig cached, boolean fresh) {
+        SkinConfig validators = cached != null && cached.hasCacheValidators() ? cached : null;
+
+        String key = validators != null
+                ? minecraftUuid + '|' + validators.getEtag() + '|' + validators.getLastModified()
+                : minecraftUuid;
+        CompletableFuture<SkinConfig> shared = new CompletableFuture<>();
+        if (fresh) {
+            // The older request only removes its own entry when it completes
+            inFlightSkinFetches.put(key, shared);
+        } else {
+            CompletableFuture<SkinConfig> inFlight = inFlightSkinFetches.putIfAbsent(key, shared);
+            if (inFlight != null) {
+                return resolveNotModified(inFlight, validators);
+            }
+        }
+
+        CompletableFuture<SkinConfig> fetch;
+        try {
+            fetch = fetchSkinConfig(minecraftUuid, validators);
+        } catch (RuntimeException e) {
+            fetch = CompletableFuture.failedFuture(e);
+        }
+        fetch.whenComplete((config, error) -> {
+            inFlightSkinFetches.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(config);
+            }
+        });
+        return resolveNotModified(shared, validators);
+    }
+
+    /**
+     * Give one caller its own view of a shared fetch, with a 304 answer
+     * resolved to that caller's cached instance.
+     */
+    private static CompletableFuture<SkinConfig> resolveNotModified(CompletableFuture<SkinConfig> shared,
+                                                                    @Nullable SkinConfig cached) {
+        return shared.thenApply(config -> config == NOT_MODIFIED ? cached : config);
+    }
+
+    private CompletableFuture<SkinConfig> fetchSkinConfig(String minecraftUuid, @Nullable SkinConfig cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + "/skins/" + minecraftUuid))
                 .header("Accept", "application/json")
                 .timeout(timeout)
-                .GET()
-                .build();
+                .GET();
+        if (cached != null) {
+            if (cached.getEtag() != null) {
+                builder.header("If-None-Match", cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                builder.header("If-Modified-Since", cached.getLastModified());
+            }
+        }
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream())
                 .thenApply(response -> {
                     if (response.statusCode() != 200) {
-                        return null;
+                        discard(response.body());
+                        return response.statusCode() == 304 ? NOT_MODIFIED : null;
                     }
                     try {
-                        SkinResponse skinResponse = GSON.fromJson(response.body(), SkinResponse.class);
-                        if (!skinResponse.success || skinResponse.skin == null) {
+                        SkinResponse skinResponse = readJson(response.body(), SkinResponse.class);
+                        if (skinResponse == null || !skinResponse.success || skinResponse.skin == null) {
                             return null;
                         }
+                        skinResponse.skin.setCacheValidators(
+                                response.headers().firstValue("ETag").orElse(null),
+                                response.headers().firstValue("Last-Modified").orElse(null));
                         return skinResponse.skin;
-                    } catch (JsonParseException e) {
+                    } catch (JsonParseException | IOException e) {
                         logger.warning("Failed to parse skin response: " + e.getMessage());
                         return null;
                     }
                 });
     }
 
+    /**
+     * Fetch the skin configurations of several players.
+     * UUIDs are sent in batches of at most {@link #MAX_BATCH_SIZE}. If the API
+     * does not support batch requests, each player is fetched individually.
+     *
+     * @param minecraftUuids Players' Minecraft UUIDs
+     * @return Skin configurations keyed by UUID; players without a skin are absent
+     */
+    @NotNull
+    public CompletableFuture<Map<String, SkinConfig>> getSkinConfigs(@NotNull Collection<String> minecraftUuids) {
+        List<String> uuids = new ArrayList<>(minecraftUuids);
+        List<CompletableFuture<Map<String, SkinConfig>>> batches = new ArrayList<>();
+        for (int start = 0; start < uuids.size(); start += MAX_BATCH_SIZE) {
+            List<String> batch = uuids.subList(start, Math.min(start + MAX_BATCH_SIZE, uuids.size()));
+            batches.add(fetchSkinConfigBatch(batch));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<String, SkinConfig> configs = new HashMap<>();
+                    for (CompletableFuture<Map<String, SkinConfig>> batch : batches) {
+                        configs.putAll(batch.join());
+                    }
+                    return configs;
+                });
+    }
+
+    private CompletableFuture<Map<String, SkinConfig>> fetchSkinConfigBatch(List<String> minecraftUuids) {
+        if (batchUnsupported) {
+            return fetchSkinConfigsIndividually(minecraftUuids);
+        }
+
+        String jsonBody = GSON.toJson(new SkinBatchRequest(minecraftUuids));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/skins/batch"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenCompose(response -> {
+                    int status = response.statusCode();
+                    if (status != 200) {
+                        discard(response.body());
+                    }
+                    if (status == 404 || status == 405) {
+                        batchUnsupported = true;
+                        logger.info("Batch skin endpoint unavailable, falling back to single fetches");
+                        return fetchSkinConfigsIndividually(minecraftUuids);
+                    }
+                    if (status != 200) {
+                        throw new SkinApiException("Failed to fetch skin batch: HTTP " + status);
+                    }
+                    try {
+                        SkinBatchResponse batchResponse = readJson(response.body(), SkinBatchResponse.class);
+                        if (batchResponse == null || !batchResponse.success) {
+                            throw new SkinApiException("Failed to fetch skin batch"
+                                    + (batchResponse != null ? ": " + batchResponse.error : ""));
+                        }
+                        Map<String, SkinConfig> configs = new HashMap<>();
+                        if (batchResponse.skins != null) {
+                            for (SkinConfig skin : batchResponse.skins) {
+                                if (skin != null && !skin.getMinecraftUuid().isEmpty()) {
+                                    configs.put(skin.getMinecraftUuid(), skin);
+                                }
+                            }
+                        }
+                        return CompletableFuture.completedFuture(configs);
+                    } catch (JsonParseException | IOException e) {
+                        throw new SkinApiException("Failed to parse skin batch response", e);
+                    }
+                });
+    }
+
+    private CompletableFuture<Map<String, SkinConfig>> fetchSkinConfigsIndividually(List<String> minecraftUuids) {
+        Map<String, SkinConfig> configs = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] fetches = new CompletableFuture[minecraftUuids.size()];
+        for (int i = 0; i < fetches.length; i++) {
+            String uuid = minecraftUuids.get(i);
+            fetches[i] = getSkinConfig(uuid).thenAccept(config -> {
+                if (config != null) {
+                    configs.put(uuid, config);
+                }
+            });
+        }
+        return CompletableFuture.allOf(fetches).thenApply(ignored -> configs);
+    }
+
+    /**
+     * Parse a JSON response body straight from the stream and close it.
+     */
+    @Nullable
+    private static <T> T readJson(InputStream body, Class<T> type) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return GSON.fromJson(reader, type);
+        }
+    }
+
+    /**
+     * Close an unread response body so the connection can be reused.
+     */
+    private static void discard(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // Nothing left to read
+        }
+    }
+
     /**
      * Check if the API is healthy.
      */
@@ -156,6 +381,20 @@ public final class SkinApiClient {
         public long expires_in_hours;
     }
 
+    private static class SkinBatchRequest {
+        final List<String> minecraft_uuids;
+
+        SkinBatchRequest(List<String> uuids) {
+            this.minecraft_uuids = uuids;
+        }
+    }
+
+    private static class SkinBatchResponse {
+        boolean success;
+        List<SkinConfig> skins;
+        String error;
+    }
+
     private static class SkinResponse {
         boolean success;
         SkinConfig skin;
@@ -0,0 +1,137 @@
+package dev.th0rgal.skinmotion.core.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe LRU cache bounded by entry count, with optional time-to-live.
+ * Tracks hit, miss and eviction counts for diagnostics.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxSize Maximum number of entries before the least recently used is evicted
+     * @param ttl     How long an entry stays valid after being stored, or {@link Duration#ZERO} for no expiry
+     */
+    public BoundedCache(int maxSize, @NotNull Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a live entry, counting a hit or a miss.
+     *
+     * @return The cached value, or null if absent or expired
+     */
+    @Nullable
+    public synchronized V get(@NotNull K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(@NotNull K key, @NotNull V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    /**
+     * Remove an entry without counting a hit or miss.
+     */
+    public synchronized void invalidate(@NotNull K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drop every expired entry.
+     */
+    public synchronized void purgeExpired() {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> {
+            if (isExpired(entry, now)) {
+                evictions++;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Fraction of lookups that were hits, between 0 and 1.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return ttlNanos > 0 && now - entry.storedAt > ttlNanos;
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+}
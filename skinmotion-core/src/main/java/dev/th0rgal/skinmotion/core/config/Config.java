@@ -18,6 +18,24 @@ public final class Config {
     private static final String DEFAULT_API_URL = "https://ccapi.thomas.md";
     private static final int DEFAULT_TIMEOUT_SECONDS = 30;
     private static final String DEFAULT_SERVER_ID = "default";
+    private static final int DEFAULT_WRITE_BEHIND_SECONDS = 5;
+    private static final int DEFAULT_CACHE_MAX_SIZE = 500;
+    private static final int DEFAULT_CACHE_TTL_SECONDS = 300;
+    private static final double DEFAULT_LOD_NEAR_DISTANCE = 24.0;
+    private static final double DEFAULT_LOD_MID_DISTANCE = 48.0;
+    private static final double DEFAULT_LOD_FAR_DISTANCE = 64.0;
+    private static final int DEFAULT_LOD_MID_FRAME_INTERVAL = 3;
+    private static final int DEFAULT_DISPATCH_MAX_PACKETS_PER_TICK = 3000;
+    private static final int DEFAULT_DISPATCH_MAX_PACKETS_PER_VIEWER = 120;
+    private static final double DEFAULT_GOVERNOR_STRETCH_MSPT = 40.0;
+    private static final double DEFAULT_GOVERNOR_REDUCE_RADIUS_MSPT = 45.0;
+    private static final double DEFAULT_GOVERNOR_PAUSE_MSPT = 50.0;
+    private static final double DEFAULT_GOVERNOR_STRETCH_OVERRUN_MS = 10.0;
+    private static final double DEFAULT_GOVERNOR_REDUCE_RADIUS_OVERRUN_MS = 20.0;
+    private static final double DEFAULT_GOVERNOR_PAUSE_OVERRUN_MS = 35.0;
+    private static final double DEFAULT_GOVERNOR_RECOVERY_MARGIN_MSPT = 5.0;
+    private static final int DEFAULT_GOVERNOR_STRETCH_FACTOR = 2;
+    private static final double DEFAULT_GOVERNOR_REDUCED_RADIUS = 32.0;
 
     private String apiUrl;
     private int timeoutSeconds;
@@ -27,6 +45,36 @@ public final class Config {
     private String serverId;
     private boolean sendLinkOnJoin;
 
+    // Storage settings
+    private int writeBehindSeconds;
+
+    // Cache settings
+    private int cacheMaxSize;
+    private int cacheTtlSeconds;
+
+    // Animation level-of-detail settings
+    private double lodNearDistance;
+    private double lodMidDistance;
+    private double lodFarDistance;
+    private int lodMidFrameInterval;
+
+    // Skin update packet budgets
+    private int dispatchMaxPacketsPerTick;
+    private int dispatchMaxPacketsPerViewer;
+    private boolean dispatchPreEncodePackets;
+
+    // Animation governor settings
+    private boolean governorEnabled;
+    private double governorStretchMspt;
+    private double governorReduceRadiusMspt;
+    private double governorPauseMspt;
+    private double governorStretchOverrunMs;
+    private double governorReduceRadiusOverrunMs;
+    private double governorPauseOverrunMs;
+    private double governorRecoveryMarginMspt;
+    private int governorStretchFactor;
+    private double governorReducedRadius;
+
     // Messages
     private String prefix;
     private String capeApplied;
@@ -51,6 +99,26 @@ public final class Config {
         this.pluginApiKey = "";
         this.serverId = DEFAULT_SERVER_ID;
         this.sendLinkOnJoin = true;
+        this.writeBehindSeconds = DEFAULT_WRITE_BEHIND_SECONDS;
+        this.cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+        this.cacheTtlSeconds = DEFAULT_CACHE_TTL_SECONDS;
+        this.lodNearDistance = DEFAULT_LOD_NEAR_DISTANCE;
+        this.lodMidDistance = DEFAULT_LOD_MID_DISTANCE;
+        this.lodFarDistance = DEFAULT_LOD_FAR_DISTANCE;
+        this.lodMidFrameInterval = DEFAULT_LOD_MID_FRAME_INTERVAL;
+        this.dispatchMaxPacketsPerTick = DEFAULT_DISPATCH_MAX_PACKETS_PER_TICK;
+        this.dispatchMaxPacketsPerViewer = DEFAULT_DISPATCH_MAX_PACKETS_PER_VIEWER;
+        this.dispatchPreEncodePackets = false;
+        this.governorEnabled = true;
+        this.governorStretchMspt = DEFAULT_GOVERNOR_STRETCH_MSPT;
+        this.governorReduceRadiusMspt = DEFAULT_GOVERNOR_REDUCE_RADIUS_MSPT;
+        this.governorPauseMspt = DEFAULT_GOVERNOR_PAUSE_MSPT;
+        this.governorStretchOverrunMs = DEFAULT_GOVERNOR_STRETCH_OVERRUN_MS;
+        this.governorReduceRadiusOverrunMs = DEFAULT_GOVERNOR_REDUCE_RADIUS_OVERRUN_MS;
+        this.governorPauseOverrunMs = DEFAULT_GOVERNOR_PAUSE_OVERRUN_MS;
+        this.governorRecoveryMarginMspt = DEFAULT_GOVERNOR_RECOVERY_MARGIN_MSPT;
+        this.governorStretchFactor = DEFAULT_GOVERNOR_STRETCH_FACTOR;
+        this.governorReducedRadius = DEFAULT_GOVERNOR_REDUCED_RADIUS;
         this.prefix = "<gray>[<gold>Capes</gold>]</gray> ";
         this.capeApplied = "<green>Cape applied successfully!";
         this.capeCleared = "<green>Cape removed.";
@@ -114,6 +182,46 @@ public final class Config {
             this.sendLinkOnJoin = getBoolean(skin, "send_link_on_join", true);
         }
 
+        Map<String, Object> storage = (Map<String, Object>) data.get("storage");
+        if (storage != null) {
+            this.writeBehindSeconds = getInt(storage, "write_behind_seconds", DEFAULT_WRITE_BEHIND_SECONDS);
+        }
+
+        Map<String, Object> cache = (Map<String, Object>) data.get("cache");
+        if (cache != null) {
+            this.cacheMaxSize = getInt(cache, "max_size", DEFAULT_CACHE_MAX_SIZE);
+            this.cacheTtlSeconds = getInt(cache, "ttl_seconds", DEFAULT_CACHE_TTL_SECONDS);
+        }
+
+        Map<String, Object> lod = (Map<String, Object>) data.get("lod");
+        if (lod != null) {
+            this.lodNearDistance = getDouble(lod, "near_distance", DEFAULT_LOD_NEAR_DISTANCE);
+            this.lodMidDistance = getDouble(lod, "mid_distance", DEFAULT_LOD_MID_DISTANCE);
+            this.lodFarDistance = getDouble(lod, "far_distance", DEFAULT_LOD_FAR_DISTANCE);
+            this.lodMidFrameInterval = getInt(lod, "mid_frame_interval", DEFAULT_LOD_MID_FRAME_INTERVAL);
+        }
+
+        Map<String, Object> dispatch = (Map<String, Object>) data.get("dispatch");
+        if (dispatch != null) {
+            this.dispatchMaxPacketsPerTick = getInt(dispatch, "max_packets_per_tick", DEFAULT_DISPATCH_MAX_PACKETS_PER_TICK);
+            this.dispatchMaxPacketsPerViewer = getInt(dispatch, "max_packets_per_viewer", DEFAULT_DISPATCH_MAX_PACKETS_PER_VIEWER);
+            this.dispatchPreEncodePackets = getBoolean(dispatch, "pre_encode_packets", false);
+        }
+
+        Map<String, Object> governor = (Map<String, Object>) data.get("governor");
+        if (governor != null) {
+            this.governorEnabled = getBoolean(governor, "enabled", true);
+            this.governorStretchMspt = getDouble(governor, "stretch_mspt", DEFAULT_GOVERNOR_STRETCH_MSPT);
+            this.governorReduceRadiusMspt = getDouble(governor, "reduce_radius_mspt", DEFAULT_GOVERNOR_REDUCE_RADIUS_MSPT);
+            this.governorPauseMspt = getDouble(governor, "pause_mspt", DEFAULT_GOVERNOR_PAUSE_MSPT);
+            this.governorStretchOverrunMs = getDouble(governor, "stretch_overrun_ms", DEFAULT_GOVERNOR_STRETCH_OVERRUN_MS);
+            this.governorReduceRadiusOverrunMs = getDouble(governor, "reduce_radius_overrun_ms", DEFAULT_GOVERNOR_REDUCE_RADIUS_OVERRUN_MS);
+            this.governorPauseOverrunMs = getDouble(governor, "pause_overrun_ms", DEFAULT_GOVERNOR_PAUSE_OVERRUN_MS);
+            this.governorRecoveryMarginMspt = getDouble(governor, "recovery_margin_mspt", DEFAULT_GOVERNOR_RECOVERY_MARGIN_MSPT);
+            this.governorStretchFactor = getInt(governor, "stretch_factor", DEFAULT_GOVERNOR_STRETCH_FACTOR);
+            this.governorReducedRadius = getDouble(governor, "reduced_radius", DEFAULT_GOVERNOR_REDUCED_RADIUS);
+        }
+
         Map<String, Object> messages = (Map<String, Object>) data.get("messages");
         if (messages != null) {
             this.prefix = getString(messages, "prefix", prefix);
@@ -143,6 +251,14 @@ public final class Config {
         return defaultValue;
     }
 
+    private double getDouble(Map<String, Object> map, String key, double defaultValue) {
+        Object value = map.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return defaultValue;
+    }
+
     private boolean getBoolean(Map<String, Object> map, String key, boolean defaultValue) {
         Object value = map.get(key);
         if (value instanceof Boolean) {
@@ -168,6 +284,41 @@ public final class Config {
         skin.put("send_link_on_join", sendLinkOnJoin);
         data.put("skin", skin);
 
+        Map<String, Object> storage = new LinkedHashMap<>();
+        storage.put("write_behind_seconds", writeBehindSeconds);
+        data.put("storage", storage);
+
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("max_size", cacheMaxSize);
+        cache.put("ttl_seconds", cacheTtlSeconds);
+        data.put("cache", cache);
+
+        Map<String, Object> lod = new LinkedHashMap<>();
+        lod.put("near_distance", lodNearDistance);
+        lod.put("mid_distance", lodMidDistance);
+        lod.put("far_distance", lodFarDistance);
+        lod.put("mid_frame_interval", lodMidFrameInterval);
+        data.put("lod", lod);
+
+        Map<String, Object> dispatch = new LinkedHashMap<>();
+        dispatch.put("max_packets_per_tick", dispatchMaxPacketsPerTick);
+        dispatch.put("max_packets_per_viewer", dispatchMaxPacketsPerViewer);
+        dispatch.put("pre_encode_packets", dispatchPreEncodePackets);
+        data.put("dispatch", dispatch);
+
+        Map<String, Object> governor = new LinkedHashMap<>();
+        governor.put("enabled", governorEnabled);
+        governor.put("stretch_mspt", governorStretchMspt);
+        governor.put("reduce_radius_mspt", governorReduceRadiusMspt);
+        governor.put("pause_mspt", governorPauseMspt);
+        governor.put("stretch_overrun_ms", governorStretchOverrunMs);
+        governor.put("reduce_radius_overrun_ms", governorReduceRadiusOverrunMs);
+        governor.put("pause_overrun_ms", governorPauseOverrunMs);
+        governor.put("recovery_margin_mspt", governorRecoveryMarginMspt);
+        governor.put("stretch_factor", governorStretchFactor);
+        governor.put("reduced_radius", governorReducedRadius);
+        data.put("governor", governor);
+
         Map<String, Object> messages = new LinkedHashMap<>();
         messages.put("prefix", prefix);
         messages.put("cape_applied", capeApplied);
@@ -228,6 +379,149 @@ public final class Config {
         return sendLinkOnJoin;
     }
 
+    /**
+     * Seconds between batched flushes of queued skin saves; 0 saves immediately.
+     */
+    public int getWriteBehindSeconds() {
+        return Math.max(0, writeBehindSeconds);
+    }
+
+    /**
+     * Maximum number of recently-seen skin configs kept after players quit.
+     */
+    public int getCacheMaxSize() {
+        return Math.max(1, cacheMaxSize);
+    }
+
+    /**
+     * Seconds a cached skin config stays fresh after its player quits.
+     */
+    public int getCacheTtlSeconds() {
+        return Math.max(0, cacheTtlSeconds);
+    }
+
+    /**
+     * Distance in blocks within which viewers see every animation frame.
+     */
+    public double getLodNearDistance() {
+        return Math.max(0, lodNearDistance);
+    }
+
+    /**
+     * Distance in blocks within which viewers see every Nth animation frame.
+     */
+    public double getLodMidDistance() {
+        return Math.max(getLodNearDistance(), lodMidDistance);
+    }
+
+    /**
+     * Distance in blocks beyond which viewers receive no animation; between the
+     * mid and far distances viewers only see the first frame.
+     */
+    public double getLodFarDistance() {
+        return Math.max(getLodMidDistance(), lodFarDistance);
+    }
+
+    /**
+     * Mid-range viewers are sent one of every this many animation steps.
+     */
+    public int getLodMidFrameInterval() {
+        return Math.max(1, lodMidFrameInterval);
+    }
+
+    /**
+     * Maximum skin update packets sent per tick across all viewers.
+     */
+    public int getDispatchMaxPacketsPerTick() {
+        return Math.max(1, dispatchMaxPacketsPerTick);
+    }
+
+    /**
+     * Maximum skin update packets sent to a single viewer per tick.
+     */
+    public int getDispatchMaxPacketsPerViewer() {
+        return Math.max(1, dispatchMaxPacketsPerViewer);
+    }
+
+    /**
+     * Whether skin update packets are encoded once and written as raw bytes to every viewer.
+     */
+    public boolean isDispatchPreEncodePackets() {
+        return dispatchPreEncodePackets;
+    }
+
+    /**
+     * Whether animation quality is lowered automatically under server load.
+     */
+    public boolean isGovernorEnabled() {
+        return governorEnabled;
+    }
+
+    /**
+     * MSPT above which frame durations are stretched.
+     */
+    public double getGovernorStretchMspt() {
+        return governorStretchMspt;
+    }
+
+    /**
+     * MSPT above which the broadcast radius is also reduced.
+     */
+    public double getGovernorReduceRadiusMspt() {
+        return Math.max(governorStretchMspt, governorReduceRadiusMspt);
+    }
+
+    /**
+     * MSPT above which animations of players without priority are also paused.
+     */
+    public double getGovernorPauseMspt() {
+        return Math.max(getGovernorReduceRadiusMspt(), governorPauseMspt);
+    }
+
+    /**
+     * Tick overrun in milliseconds above which frame durations are stretched,
+     * used where the server reports no tick time (Spigot, Folia).
+     */
+    public double getGovernorStretchOverrunMs() {
+        return Math.max(0, governorStretchOverrunMs);
+    }
+
+    /**
+     * Tick overrun in milliseconds above which the broadcast radius is also reduced.
+     */
+    public double getGovernorReduceRadiusOverrunMs() {
+        return Math.max(getGovernorStretchOverrunMs(), governorReduceRadiusOverrunMs);
+    }
+
+    /**
+     * Tick overrun in milliseconds above which animations of players without
+     * priority are also paused.
+     */
+    public double getGovernorPauseOverrunMs() {
+        return Math.max(getGovernorReduceRadiusOverrunMs(), governorPauseOverrunMs);
+    }
+
+    /**
+     * How far MSPT must drop below a level's threshold before quality is restored.
+     */
+    public double getGovernorRecoveryMarginMspt() {
+        return Math.max(0, governorRecoveryMarginMspt);
+    }
+
+    /**
+     * Multiplier applied to frame durations while stretched.
+     */
+    public int getGovernorStretchFactor() {
+        return Math.max(1, governorStretchFactor);
+    }
+
+    /**
+     * Broadcast radius in blocks while the radius is reduced.
+     */
+    public double getGovernorReducedRadius() {
+        return Math.max(0, governorReducedRadius);
+    }
+
     @NotNull
     public String getPrefix() {
         return prefix;
@@ -35,6 +35,10 @@ public class SkinConfig {
     @SerializedName("frames")
     private List<SkinFrame> frames;
 
+    // HTTP cache validators from the response this config was fetched with
+    private transient String etag;
+    private transient String lastModified;
+
     /**
      * Default constructor for Gson deserialization.
      */
@@ -48,7 +52,18 @@ public class SkinConfig {
                       @NotNull String capeType, @NotNull String loopMode,
                       int frameDurationTicks, boolean enabled,
                       @Nullable List<SkinFrame> frames) {
-        this.id = minecraftUuid; // Use UUID as ID for local storage
+        this(minecraftUuid, minecraftUuid, minecraftUsername, capeType, loopMode, // Use UUID as ID for local storage
+                frameDurationTicks, enabled, frames);
+    }
+
+    /**
+     * Constructor for configs read from the API, where any field may be missing.
+     */
+    SkinConfig(@Nullable String id, @Nullable String minecraftUuid, @Nullable String minecraftUsername,
+               @Nullable String capeType, @Nullable String loopMode,
+               int frameDurationTicks, boolean enabled,
+               @Nullable List<SkinFrame> frames) {
+        this.id = id;
         this.minecraftUuid = minecraftUuid;
         this.minecraftUsername = minecraftUsername;
         this.capeType = capeType;
@@ -96,6 +111,34 @@ public class SkinConfig {
         return frames;
     }
 
+    /**
+     * ETag of the API response this config came from, used for conditional fetches.
+     */
+    @Nullable
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Last-Modified date of the API response this config came from, used for conditional fetches.
+     */
+    @Nullable
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Check if this config carries any validator a conditional fetch can use.
+     */
+    public boolean hasCacheValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    public void setCacheValidators(@Nullable String etag, @Nullable String lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
     public int getFrameCount() {
         return frames != null ? frames.size() : 0;
     }
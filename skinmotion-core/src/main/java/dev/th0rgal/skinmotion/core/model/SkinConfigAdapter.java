@@ -0,0 +1,101 @@
+package dev.th0rgal.skinmotion.core.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming Gson adapter for {@link SkinConfig}.
+ * Frames are read one at a time into the final list, so a response never
+ * needs to be buffered or turned into a JSON tree first.
+ */
+public final class SkinConfigAdapter extends TypeAdapter<SkinConfig> {
+
+    private final SkinFrameAdapter frameAdapter = new SkinFrameAdapter();
+
+    @Override
+    public void write(JsonWriter out, SkinConfig config) throws IOException {
+        if (config == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(config.getId());
+        out.name("minecraft_uuid").value(config.getMinecraftUuid());
+        out.name("minecraft_username").value(config.getMinecraftUsername());
+        out.name("cape_type").value(config.getCapeType());
+        out.name("loop_mode").value(config.getLoopMode());
+        out.name("frame_duration_ticks").value(config.getFrameDurationTicks());
+        out.name("enabled").value(config.isEnabled());
+        out.name("frames");
+        if (config.getFrames() == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (SkinFrame frame : config.getFrames()) {
+                frameAdapter.write(out, frame);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    @Override
+    public SkinConfig read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null;
+        String minecraftUuid = null;
+        String minecraftUsername = null;
+        String capeType = null;
+        String loopMode = null;
+        int frameDurationTicks = 0;
+        boolean enabled = false;
+        List<SkinFrame> frames = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id" -> id = in.nextString();
+                case "minecraft_uuid" -> minecraftUuid = in.nextString();
+                case "minecraft_username" -> minecraftUsername = in.nextString();
+                case "cape_type" -> capeType = in.nextString();
+                case "loop_mode" -> loopMode = in.nextString();
+                case "frame_duration_ticks" -> frameDurationTicks = in.nextInt();
+                case "enabled" -> enabled = in.nextBoolean();
+                case "frames" -> frames = readFrames(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new SkinConfig(id, minecraftUuid, minecraftUsername, capeType, loopMode,
+                frameDurationTicks, enabled, frames);
+    }
+
+    private List<SkinFrame> readFrames(JsonReader in) throws IOException {
+        List<SkinFrame> frames = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            SkinFrame frame = frameAdapter.read(in);
+            if (frame != null) {
+                frames.add(frame);
+            }
+        }
+        in.endArray();
+        return frames;
+    }
+}
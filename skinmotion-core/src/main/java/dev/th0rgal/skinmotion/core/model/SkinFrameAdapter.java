@@ -0,0 +1,61 @@
+package dev.th0rgal.skinmotion.core.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for {@link SkinFrame}.
+ * Reads fields straight from the token stream instead of going through reflection.
+ */
+public final class SkinFrameAdapter extends TypeAdapter<SkinFrame> {
+
+    @Override
+    public void write(JsonWriter out, SkinFrame frame) throws IOException {
+        if (frame == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("frame_index").value(frame.getFrameIndex());
+        out.name("texture_value").value(frame.getTextureValue());
+        out.name("texture_signature").value(frame.getTextureSignature());
+        out.name("texture_url").value(frame.getTextureUrl());
+        out.endObject();
+    }
+
+    @Override
+    public SkinFrame read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        int frameIndex = 0;
+        String textureValue = null;
+        String textureSignature = null;
+        String textureUrl = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "frame_index" -> frameIndex = in.nextInt();
+                case "texture_value" -> textureValue = in.nextString();
+                case "texture_signature" -> textureSignature = in.nextString();
+                case "texture_url" -> textureUrl = in.nextString();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new SkinFrame(frameIndex, textureValue, textureSignature, textureUrl);
+    }
+}
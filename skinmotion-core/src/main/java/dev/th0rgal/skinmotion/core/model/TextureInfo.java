@@ -0,0 +1,32 @@
+package dev.th0rgal.skinmotion.core.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decoded contents of a Base64 texture property value.
+ *
+ * @param skinUrl   The skin texture URL, or null if absent
+ * @param capeUrl   The cape texture URL, or null if absent
+ * @param variant   The skin model (defaults to CLASSIC)
+ * @param timestamp When Mojang signed the texture, in epoch milliseconds, or 0 if unknown
+ */
+public record TextureInfo(
+        @Nullable String skinUrl,
+        @Nullable String capeUrl,
+        @NotNull SkinVariant variant,
+        long timestamp
+) {
+
+    /**
+     * Result for values that could not be decoded.
+     */
+    public static final TextureInfo EMPTY = new TextureInfo(null, null, SkinVariant.CLASSIC, 0);
+
+    /**
+     * Check if the texture includes a cape.
+     */
+    public boolean hasCape() {
+        return capeUrl != null;
+    }
+}
@@ -2,12 +2,15 @@ package dev.th0rgal.skinmotion.core.util;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import dev.th0rgal.skinmotion.core.cache.BoundedCache;
 import dev.th0rgal.skinmotion.core.model.SkinProperty;
 import dev.th0rgal.skinmotion.core.model.SkinVariant;
+import dev.th0rgal.skinmotion.core.model.TextureInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 
 /**
@@ -16,51 +19,103 @@ import java.util.Base64;
 public final class SkinUtil {
 
     private static final Gson GSON = new Gson();
+    private static final int DECODED_CACHE_SIZE = 256;
+
+    /** Decoded texture information, keyed by Base64 texture value */
+    private static final BoundedCache<String, TextureInfo> DECODED =
+            new BoundedCache<>(DECODED_CACHE_SIZE, Duration.ZERO);
 
     private SkinUtil() {
         // Utility class
     }
 
     /**
-     * Decode a skin property value to extract the skin URL.
-     * The value is Base64-encoded JSON containing texture URLs.
+     * Decode a skin property value into its texture information.
      *
      * @param property The skin property to decode
-     * @return The skin URL, or null if not found
+     * @return The decoded texture information
      */
-    @Nullable
-    public static String extractSkinUrl(@NotNull SkinProperty property) {
-        return extractSkinUrl(property.getValue());
+    @NotNull
+    public static TextureInfo decode(@NotNull SkinProperty property) {
+        return decode(property.getValue());
     }
 
     /**
-     * Decode a Base64 texture value to extract the skin URL.
+     * Decode a Base64 texture value into its skin URL, cape URL, model and timestamp.
+     * Results are memoized, so inspecting the same value again costs a map lookup.
      *
      * @param base64Value The Base64-encoded texture value
-     * @return The skin URL, or null if not found
+     * @return The decoded texture information, or {@link TextureInfo#EMPTY} if it cannot be decoded
      */
-    @Nullable
-    public static String extractSkinUrl(@NotNull String base64Value) {
+    @NotNull
+    public static TextureInfo decode(@NotNull String base64Value) {
+        TextureInfo info = DECODED.get(base64Value);
+        if (info == null) {
+            info = parseTextureInfo(base64Value);
+            DECODED.put(base64Value, info);
+        }
+        return info;
+    }
+
+    @NotNull
+    private static TextureInfo parseTextureInfo(@NotNull String base64Value) {
         try {
             String json = new String(Base64.getDecoder().decode(base64Value), StandardCharsets.UTF_8);
             JsonObject root = GSON.fromJson(json, JsonObject.class);
-            
+            if (root == null) {
+                return TextureInfo.EMPTY;
+            }
+
+            long timestamp = root.has("timestamp") ? root.get("timestamp").getAsLong() : 0;
+
             JsonObject textures = root.getAsJsonObject("textures");
             if (textures == null) {
-                return null;
+                return new TextureInfo(null, null, SkinVariant.CLASSIC, timestamp);
             }
 
+            String skinUrl = null;
+            SkinVariant variant = SkinVariant.CLASSIC;
             JsonObject skin = textures.getAsJsonObject("SKIN");
-            if (skin == null) {
-                return null;
+            if (skin != null) {
+                skinUrl = skin.has("url") ? skin.get("url").getAsString() : null;
+                JsonObject metadata = skin.getAsJsonObject("metadata");
+                if (metadata != null && metadata.has("model")) {
+                    variant = SkinVariant.fromString(metadata.get("model").getAsString());
+                }
             }
 
-            return skin.has("url") ? skin.get("url").getAsString() : null;
+            JsonObject cape = textures.getAsJsonObject("CAPE");
+            String capeUrl = cape != null && cape.has("url") ? cape.get("url").getAsString() : null;
+
+            return new TextureInfo(skinUrl, capeUrl, variant, timestamp);
         } catch (Exception e) {
-            return null;
+            return TextureInfo.EMPTY;
         }
     }
 
+    /**
+     * Decode a skin property value to extract the skin URL.
+     * The value is Base64-encoded JSON containing texture URLs.
+     *
+     * @param property The skin property to decode
+     * @return The skin URL, or null if not found
+     */
+    @Nullable
+    public static String extractSkinUrl(@NotNull SkinProperty property) {
+        return extractSkinUrl(property.getValue());
+    }
+
+    /**
+     * Decode a Base64 texture value to extract the skin URL.
+     *
+     * @param base64Value The Base64-encoded texture value
+     * @return The skin URL, or null if not found
+     */
+    @Nullable
+    public static String extractSkinUrl(@NotNull String base64Value) {
+        return decode(base64Value).skinUrl();
+    }
+
     /**
      * Extract the skin variant (model) from a skin property.
      *
@@ -80,30 +135,7 @@ public final class SkinUtil {
      */
     @NotNull
     public static SkinVariant extractVariant(@NotNull String base64Value) {
-        try {
-            String json = new String(Base64.getDecoder().decode(base64Value), StandardCharsets.UTF_8);
-            JsonObject root = GSON.fromJson(json, JsonObject.class);
-            
-            JsonObject textures = root.getAsJsonObject("textures");
-            if (textures == null) {
-                return SkinVariant.CLASSIC;
-            }
-
-            JsonObject skin = textures.getAsJsonObject("SKIN");
-            if (skin == null) {
-                return SkinVariant.CLASSIC;
-            }
-
-            JsonObject metadata = skin.getAsJsonObject("metadata");
-            if (metadata == null) {
-                return SkinVariant.CLASSIC;
-            }
-
-            String model = metadata.has("model") ? metadata.get("model").getAsString() : null;
-            return SkinVariant.fromString(model);
-        } catch (Exception e) {
-            return SkinVariant.CLASSIC;
-        }
+        return decode(base64Value).variant();
     }
 
     /**
@@ -123,19 +155,7 @@ public final class SkinUtil {
      * @return true if the texture includes a cape
      */
     public static boolean hasCape(@NotNull String base64Value) {
-        try {
-            String json = new String(Base64.getDecoder().decode(base64Value), StandardCharsets.UTF_8);
-            JsonObject root = GSON.fromJson(json, JsonObject.class);
-            
-            JsonObject textures = root.getAsJsonObject("textures");
-            if (textures == null) {
-                return false;
-            }
-
-            return textures.has("CAPE");
-        } catch (Exception e) {
-            return false;
-        }
+        return decode(base64Value).hasCape();
     }
 
     /**
@@ -157,24 +177,7 @@ public final class SkinUtil {
      */
     @Nullable
     public static String extractCapeUrl(@NotNull String base64Value) {
-        try {
-            String json = new String(Base64.getDecoder().decode(base64Value), StandardCharsets.UTF_8);
-            JsonObject root = GSON.fromJson(json, JsonObject.class);
-            
-            JsonObject textures = root.getAsJsonObject("textures");
-            if (textures == null) {
-                return null;
-            }
-
-            JsonObject cape = textures.getAsJsonObject("CAPE");
-            if (cape == null) {
-                return null;
-            }
-
-            return cape.has("url") ? cape.get("url").getAsString() : null;
-        } catch (Exception e) {
-            return null;
-        }
+        return decode(base64Value).capeUrl();
     }
 
     /**
@@ -0,0 +1,269 @@
+package dev.th0rgal.skinmotion.core.api;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.th0rgal.skinmotion.core.model.SkinConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkinApiClientTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SkinApiClient client;
+
+    /** UUID count of each batch request received, in order */
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> singleFetches = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger notModified = new AtomicInteger();
+    private volatile int batchStatus = 200;
+
+    /** Holds back the answer to the first single fetch until released */
+    private final CountDownLatch firstFetchGate = new CountDownLatch(1);
+    private volatile boolean gateFirstFetch;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/skins/batch", this::handleBatch);
+        server.createContext("/skins/", this::handleSingle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        client = new SkinApiClient("http://127.0.0.1:" + server.getAddress().getPort(), "test-key", 5,
+                Logger.getLogger("SkinApiClientTest"));
+    }
+
+    @AfterEach
+    void stopServer() {
+        firstFetchGate.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void largeRequestsAreSplitIntoBatches() throws Exception {
+        List<String> uuids = randomUuids(250);
+
+        Map<String, SkinConfig> configs = client.getSkinConfigs(uuids).get(10, TimeUnit.SECONDS);
+
+        assertEquals(250, configs.size());
+        assertTrue(configs.keySet().containsAll(uuids));
+        List<Integer> sizes = new ArrayList<>(batchSizes);
+        Collections.sort(sizes);
+        assertEquals(List.of(50, SkinApiClient.MAX_BATCH_SIZE, SkinApiClient.MAX_BATCH_SIZE), sizes);
+        assertTrue(singleFetches.isEmpty());
+    }
+
+    @Test
+    void missingBatchEndpointFallsBackToSingleFetches() throws Exception {
+        batchStatus = 404;
+        List<String> uuids = randomUuids(3);
+
+        Map<String, SkinConfig> configs = client.getSkinConfigs(uuids).get(10, TimeUnit.SECONDS);
+        assertEquals(3, configs.size());
+        assertEquals(1, batchSizes.size());
+        assertEquals(3, singleFetches.size());
+
+        // Later batches skip the rejected endpoint
+        client.getSkinConfigs(randomUuids(2)).get(10, TimeUnit.SECONDS);
+        assertEquals(1, batchSizes.size());
+        assertEquals(5, singleFetches.size());
+    }
+
+    @Test
+    void unsupportedBatchMethodFallsBackToSingleFetches() throws Exception {
+        batchStatus = 405;
+
+        Map<String, SkinConfig> configs = client.getSkinConfigs(randomUuids(2)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, configs.size());
+        assertEquals(2, singleFetches.size());
+    }
+
+    @Test
+    void notModifiedReturnsCachedInstance() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        SkinConfig cached = client.getSkinConfig(uuid).get(10, TimeUnit.SECONDS);
+        assertNotNull(cached);
+        assertEquals(ETAG, cached.getEtag());
+
+        SkinConfig revalidated = client.getSkinConfig(uuid, cached).get(10, TimeUnit.SECONDS);
+
+        assertSame(cached, revalidated);
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void concurrentFetchesShareOneRequest() throws Exception {
+        gateFirstFetch = true;
+        String uuid = UUID.randomUUID().toString();
+
+        CompletableFuture<SkinConfig> first = client.getSkinConfig(uuid);
+        CompletableFuture<SkinConfig> second = client.getSkinConfig(uuid);
+        firstFetchGate.countDown();
+
+        assertEquals("Player1", first.get(10, TimeUnit.SECONDS).getMinecraftUsername());
+        assertEquals("Player1", second.get(10, TimeUnit.SECONDS).getMinecraftUsername());
+        assertEquals(1, singleFetches.size());
+    }
+
+    @Test
+    void refreshDoesNotJoinOlderFetch() throws Exception {
+        gateFirstFetch = true;
+        String uuid = UUID.randomUUID().toString();
+
+        // A fetch started before the change is still waiting for its answer
+        CompletableFuture<SkinConfig> before = client.getSkinConfig(uuid);
+        CompletableFuture<SkinConfig> refresh = client.refreshSkinConfig(uuid);
+        CompletableFuture<SkinConfig> after = client.getSkinConfig(uuid);
+
+        assertEquals("Player2", refresh.get(10, TimeUnit.SECONDS).getMinecraftUsername());
+        assertEquals("Player2", after.get(10, TimeUnit.SECONDS).getMinecraftUsername());
+        firstFetchGate.countDown();
+        assertEquals("Player1", before.get(10, TimeUnit.SECONDS).getMinecraftUsername());
+        assertEquals(2, singleFetches.size());
+    }
+
+    @Test
+    void notModifiedReturnsEachCallersCachedInstance() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        SkinConfig cached = client.getSkinConfig(uuid).get(10, TimeUnit.SECONDS);
+        SkinConfig otherCopy = client.getSkinConfig(UUID.randomUUID().toString()).get(10, TimeUnit.SECONDS);
+        otherCopy.setCacheValidators(cached.getEtag(), cached.getLastModified());
+        gateFirstFetch = true;
+        singleFetches.clear();
+
+        CompletableFuture<SkinConfig> first = client.getSkinConfig(uuid, cached);
+        CompletableFuture<SkinConfig> second = client.getSkinConfig(uuid, otherCopy);
+        firstFetchGate.countDown();
+
+        assertSame(cached, first.get(10, TimeUnit.SECONDS));
+        assertSame(otherCopy, second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, singleFetches.size());
+    }
+
+    @Test
+    void failedRequestSetupIsNotShared() {
+        String uuid = UUID.randomUUID().toString();
+        SkinConfig cached = new SkinConfig(uuid, "Player", "none", "loop", 2, true, List.of());
+        cached.setCacheValidators("\"bad\nvalue\"", null);
+
+        // The illegal header fails while building the request; later callers must not wait on it
+        assertThrows(ExecutionException.class, () -> client.getSkinConfig(uuid, cached).get(10, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> client.getSkinConfig(uuid, cached).get(10, TimeUnit.SECONDS));
+        assertTrue(singleFetches.isEmpty());
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        JsonArray requested;
+        try (InputStream body = exchange.getRequestBody()) {
+            requested = JsonParser.parseString(new String(body.readAllBytes(), StandardCharsets.UTF_8))
+                    .getAsJsonObject().getAsJsonArray("minecraft_uuids");
+        }
+        batchSizes.add(requested.size());
+        if (batchStatus != 200) {
+            respond(exchange, batchStatus, null);
+            return;
+        }
+
+        JsonArray skins = new JsonArray();
+        requested.forEach(uuid -> skins.add(skin(uuid.getAsString(), "Player")));
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("skins", skins);
+        respond(exchange, 200, response);
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String uuid = path.substring(path.lastIndexOf('/') + 1);
+        int number;
+        synchronized (singleFetches) {
+            singleFetches.add(uuid);
+            number = singleFetches.size();
+        }
+        if (gateFirstFetch && number == 1) {
+            try {
+                firstFetchGate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            respond(exchange, 304, null);
+            return;
+        }
+
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("skin", skin(uuid, "Player" + number));
+        exchange.getResponseHeaders().set("ETag", ETAG);
+        respond(exchange, 200, response);
+    }
+
+    private static JsonObject skin(String uuid, String username) {
+        JsonObject skin = new JsonObject();
+        skin.addProperty("id", uuid);
+        skin.addProperty("minecraft_uuid", uuid);
+        skin.addProperty("minecraft_username", username);
+        skin.addProperty("enabled", true);
+        skin.add("frames", new JsonArray());
+        return skin;
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonObject body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static List<String> randomUuids(int count) {
+        List<String> uuids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            uuids.add(UUID.randomUUID().toString());
+        }
+        return uuids;
+    }
+}
@@ -8,6 +8,7 @@ import dev.th0rgal.skinmotion.core.model.CapeType;
 import dev.th0rgal.skinmotion.core.model.SkinProperty;
 import dev.th0rgal.skinmotion.core.model.SkinVariant;
 import dev.th0rgal.skinmotion.core.model.TextureData;
+import dev.th0rgal.skinmotion.core.model.TextureInfo;
 import dev.th0rgal.skinmotion.core.util.SkinUtil;
 import dev.th0rgal.skinmotion.velocity.SkinMotionVelocity;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -106,14 +107,15 @@ public final class CapeCommand implements SimpleCommand {
             return;
         }
 
-        String skinUrl = SkinUtil.extractSkinUrl(currentSkin);
+        TextureInfo textureInfo = SkinUtil.decode(currentSkin);
+        String skinUrl = textureInfo.skinUrl();
         if (skinUrl == null) {
             player.sendMessage(MINI_MESSAGE.deserialize(config.getPrefix() + 
                 "<red>Could not determine your skin URL. Please try again."));
             return;
         }
 
-        SkinVariant variant = SkinUtil.extractVariant(currentSkin);
+        SkinVariant variant = textureInfo.variant();
 
         player.sendMessage(MINI_MESSAGE.deserialize(config.getPrefix() + config.getApplying()));
 